@@ -0,0 +1,45 @@
+package org.lecture;
+
+import java.time.LocalDate;
+
+class Book {
+    private int id;
+    private String title;
+    private String author;
+    private String isbn;
+    private LocalDate publishedDate;
+
+    public Book() {}
+
+    public Book(String title, String author, String isbn, LocalDate publishedDate) {
+        this.title = title;
+        this.author = author;
+        this.isbn = isbn;
+        this.publishedDate = publishedDate;
+    }
+
+    public Book(int id, String title, String author, String isbn, LocalDate publishedDate) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.isbn = isbn;
+        this.publishedDate = publishedDate;
+    }
+
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+    public String getIsbn() { return isbn; }
+    public void setIsbn(String isbn) { this.isbn = isbn; }
+    public LocalDate getPublishedDate() { return publishedDate; }
+    public void setPublishedDate(LocalDate publishedDate) { this.publishedDate = publishedDate; }
+
+    @Override
+    public String toString() {
+        return String.format("ID: %d | Title: %s | Author: %s | ISBN: %s | Published: %s",
+                id, title, author, isbn, publishedDate);
+    }
+}
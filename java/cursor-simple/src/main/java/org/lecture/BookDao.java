@@ -0,0 +1,175 @@
+package org.lecture;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Book persistence on one long-lived connection. Every statement is prepared once in the constructor
+ * and reused, so SQLite parses and plans each SQL string only once per DAO.
+ */
+class BookDao implements AutoCloseable {
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS books (" +
+            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "title TEXT NOT NULL," +
+            "author TEXT NOT NULL," +
+            "isbn TEXT UNIQUE NOT NULL," +
+            "published_date INTEGER NOT NULL" +
+            ")";
+    // PRAGMA user_version from which on published_date holds epoch days
+    private static final int EPOCH_DAY_DATES_VERSION = 1;
+    private static final String INSERT_SQL = "INSERT INTO books (title, author, isbn, published_date) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_ALL_SQL = "SELECT id, title, author, isbn, published_date FROM books ORDER BY id";
+    private static final String SELECT_BY_ID_SQL = "SELECT id, title, author, isbn, published_date FROM books WHERE id = ?";
+    private static final String UPDATE_SQL = "UPDATE books SET title = ?, author = ?, isbn = ?, published_date = ? WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM books WHERE id = ?";
+
+    private final Connection conn;
+    private final PreparedStatement insertStmt;
+    private final PreparedStatement selectAllStmt;
+    private final PreparedStatement selectByIdStmt;
+    private final PreparedStatement updateStmt;
+    private final PreparedStatement deleteStmt;
+
+    BookDao(String databaseUrl) throws SQLException {
+        this.conn = DriverManager.getConnection(databaseUrl);
+        try {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(CREATE_TABLE_SQL);
+            }
+            migrateLegacyDates(conn);
+            this.insertStmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+            this.selectAllStmt = conn.prepareStatement(SELECT_ALL_SQL);
+            this.selectByIdStmt = conn.prepareStatement(SELECT_BY_ID_SQL);
+            this.updateStmt = conn.prepareStatement(UPDATE_SQL);
+            this.deleteStmt = conn.prepareStatement(DELETE_SQL);
+        } catch (SQLException e) {
+            // closing the connection also closes the statements prepared so far
+            conn.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Inserts the book and stores the generated id on it.
+     */
+    void create(Book book) throws SQLException {
+        insertStmt.setString(1, book.getTitle());
+        insertStmt.setString(2, book.getAuthor());
+        insertStmt.setString(3, book.getIsbn());
+        insertStmt.setLong(4, PublishedDateCodec.encode(book.getPublishedDate()));
+        insertStmt.executeUpdate();
+
+        try (ResultSet keys = insertStmt.getGeneratedKeys()) {
+            if (keys.next()) {
+                book.setId(keys.getInt(1));
+            }
+        }
+    }
+
+    List<Book> listAll() throws SQLException {
+        List<Book> books = new ArrayList<>();
+        try (ResultSet rs = selectAllStmt.executeQuery()) {
+            while (rs.next()) {
+                books.add(toBook(rs));
+            }
+        }
+        return books;
+    }
+
+    Optional<Book> findById(int id) throws SQLException {
+        selectByIdStmt.setInt(1, id);
+        try (ResultSet rs = selectByIdStmt.executeQuery()) {
+            return rs.next() ? Optional.of(toBook(rs)) : Optional.empty();
+        }
+    }
+
+    /**
+     * Updates the book with the id of the given book in one statement.
+     *
+     * @return false if no book with that id exists
+     */
+    boolean update(Book book) throws SQLException {
+        updateStmt.setString(1, book.getTitle());
+        updateStmt.setString(2, book.getAuthor());
+        updateStmt.setString(3, book.getIsbn());
+        updateStmt.setLong(4, PublishedDateCodec.encode(book.getPublishedDate()));
+        updateStmt.setInt(5, book.getId());
+        return updateStmt.executeUpdate() > 0;
+    }
+
+    /**
+     * @return false if no book with that id exists
+     */
+    boolean delete(int id) throws SQLException {
+        deleteStmt.setInt(1, id);
+        return deleteStmt.executeUpdate() > 0;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        // closes all prepared statements with it
+        conn.close();
+    }
+
+    private static Book toBook(ResultSet rs) throws SQLException {
+        return new Book(
+            rs.getInt(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            PublishedDateCodec.decode(rs, 5)
+        );
+    }
+
+    /**
+     * Rewrites published dates stored as ISO text or epoch milliseconds to epoch days, once per database.
+     * If any date cannot be read, nothing is rewritten and the migration fails with the ids of those
+     * books, so they can be corrected by hand before the next start; stored dates are never guessed.
+     */
+    private static void migrateLegacyDates(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            if (rs.next() && rs.getInt(1) >= EPOCH_DAY_DATES_VERSION) {
+                return;
+            }
+        }
+
+        conn.setAutoCommit(false);
+        try (Statement select = conn.createStatement();
+             PreparedStatement update = conn.prepareStatement("UPDATE books SET published_date = ? WHERE id = ?")) {
+            int migrated = 0;
+            List<Integer> unreadable = new ArrayList<>();
+            try (ResultSet rs = select.executeQuery("SELECT id, published_date FROM books WHERE published_date IS NOT NULL")) {
+                while (rs.next()) {
+                    LocalDate date = PublishedDateCodec.decodeLegacy(rs.getString(2));
+                    if (date == null) {
+                        unreadable.add(rs.getInt(1));
+                        continue;
+                    }
+                    update.setLong(1, PublishedDateCodec.encode(date));
+                    update.setInt(2, rs.getInt(1));
+                    update.addBatch();
+                    migrated++;
+                }
+            }
+            if (!unreadable.isEmpty()) {
+                throw new SQLException("Could not parse published_date of books " + unreadable
+                        + "; fix or clear these dates, nothing was migrated");
+            }
+            update.executeBatch();
+            select.execute("PRAGMA user_version = " + EPOCH_DAY_DATES_VERSION);
+            conn.commit();
+            if (migrated > 0) {
+                System.out.println("Migrated " + migrated + " published dates to epoch days.");
+            }
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+}
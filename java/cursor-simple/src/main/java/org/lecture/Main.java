@@ -1,58 +1,27 @@
 package org.lecture;
 
-import java.sql.*;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 import java.util.Scanner;
 
-class Book {
-    private int id;
-    private String title;
-    private String author;
-    private String isbn;
-    private LocalDate publishedDate;
-
-    public Book() {}
-
-    public Book(String title, String author, String isbn, LocalDate publishedDate) {
-        this.title = title;
-        this.author = author;
-        this.isbn = isbn;
-        this.publishedDate = publishedDate;
-    }
-
-    public Book(int id, String title, String author, String isbn, LocalDate publishedDate) {
-        this.id = id;
-        this.title = title;
-        this.author = author;
-        this.isbn = isbn;
-        this.publishedDate = publishedDate;
-    }
-
-    public int getId() { return id; }
-    public void setId(int id) { this.id = id; }
-    public String getTitle() { return title; }
-    public void setTitle(String title) { this.title = title; }
-    public String getAuthor() { return author; }
-    public void setAuthor(String author) { this.author = author; }
-    public String getIsbn() { return isbn; }
-    public void setIsbn(String isbn) { this.isbn = isbn; }
-    public LocalDate getPublishedDate() { return publishedDate; }
-    public void setPublishedDate(LocalDate publishedDate) { this.publishedDate = publishedDate; }
-
-    @Override
-    public String toString() {
-        return String.format("ID: %d | Title: %s | Author: %s | ISBN: %s | Published: %s",
-                id, title, author, isbn, publishedDate);
-    }
-}
-
 public class Main {
     private static final String DATABASE_URL = "jdbc:sqlite:books.db";
     private static final Scanner scanner = new Scanner(System.in);
+    private static BookDao bookDao;
 
     public static void main(String[] args) {
-        initializeDatabase();
-        
+        try (BookDao dao = new BookDao(DATABASE_URL)) {
+            bookDao = dao;
+            System.out.println("Database initialized successfully.");
+            run();
+        } catch (SQLException e) {
+            System.err.println("Error initializing database: " + e.getMessage());
+        }
+    }
+
+    private static void run() {
         System.out.println("=== Book Management System ===");
         
         while (true) {
@@ -95,26 +64,6 @@ public class Main {
         System.out.println("6. Exit");
     }
 
-    private static void initializeDatabase() {
-        String createTableSQL = "CREATE TABLE IF NOT EXISTS books (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                "title TEXT NOT NULL," +
-                "author TEXT NOT NULL," +
-                "isbn TEXT UNIQUE NOT NULL," +
-                "published_date DATE NOT NULL" +
-                ")";
-
-        try (Connection conn = DriverManager.getConnection(DATABASE_URL);
-             Statement stmt = conn.createStatement()) {
-            
-            stmt.execute(createTableSQL);
-            System.out.println("Database initialized successfully.");
-            
-        } catch (SQLException e) {
-            System.err.println("Error initializing database: " + e.getMessage());
-        }
-    }
-
     private static void createBook() {
         System.out.println("\n--- Create New Book ---");
         
@@ -123,21 +72,9 @@ public class Main {
         String isbn = getStringInput("Enter ISBN: ");
         LocalDate publishedDate = getDateInput("Enter published date (YYYY-MM-DD): ");
 
-        String insertSQL = "INSERT INTO books (title, author, isbn, published_date) VALUES (?, ?, ?, ?)";
-
-        try (Connection conn = DriverManager.getConnection(DATABASE_URL);
-             PreparedStatement pstmt = conn.prepareStatement(insertSQL)) {
-            
-            pstmt.setString(1, title);
-            pstmt.setString(2, author);
-            pstmt.setString(3, isbn);
-            pstmt.setDate(4, Date.valueOf(publishedDate));
-            
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
-                System.out.println("Book created successfully!");
-            }
-            
+        try {
+            bookDao.create(new Book(title, author, isbn, publishedDate));
+            System.out.println("Book created successfully!");
         } catch (SQLException e) {
             if (e.getMessage().contains("UNIQUE constraint failed")) {
                 System.err.println("Error: A book with this ISBN already exists.");
@@ -150,54 +87,11 @@ public class Main {
     private static void listAllBooks() {
         System.out.println("\n--- All Books ---");
         
-        String selectSQL = "SELECT id, title, author, isbn, published_date FROM books ORDER BY id";
-
-        try (Connection conn = DriverManager.getConnection(DATABASE_URL);
-             PreparedStatement pstmt = conn.prepareStatement(selectSQL);
-             ResultSet rs = pstmt.executeQuery()) {
-            
-            boolean hasBooks = false;
-            while (rs.next()) {
-                hasBooks = true;
-                LocalDate publishedDate;
-                try {
-                    // SQLite stores dates as TEXT, so get as string first
-                    String dateStr = rs.getString("published_date");
-                    if (dateStr != null && !dateStr.isEmpty()) {
-                        // Check if it's a timestamp (all digits)
-                        if (dateStr.matches("\\d+")) {
-                            long timestamp = Long.parseLong(dateStr);
-                            publishedDate = new Date(timestamp).toLocalDate();
-                        } else {
-                            // It's a date string, parse it
-                            publishedDate = LocalDate.parse(dateStr);
-                        }
-                    } else {
-                        // Try as SQL Date if string is null
-                        Date sqlDate = rs.getDate("published_date");
-                        if (sqlDate != null) {
-                            publishedDate = sqlDate.toLocalDate();
-                        } else {
-                            publishedDate = LocalDate.now();
-                        }
-                    }
-                } catch (Exception e) {
-                    // Fallback to current date if parsing fails
-                    System.err.println("Warning: Could not parse date for book, using current date");
-                    publishedDate = LocalDate.now();
-                }
-                
-                Book book = new Book(
-                    rs.getInt("id"),
-                    rs.getString("title"),
-                    rs.getString("author"),
-                    rs.getString("isbn"),
-                    publishedDate
-                );
-                System.out.println(book);
-            }
+        try {
+            List<Book> books = bookDao.listAll();
+            books.forEach(System.out::println);
             
-            if (!hasBooks) {
+            if (books.isEmpty()) {
                 System.out.println("No books found.");
             }
             
@@ -211,55 +105,13 @@ public class Main {
         
         int id = getIntInput("Enter book ID: ");
         
-        String selectSQL = "SELECT id, title, author, isbn, published_date FROM books WHERE id = ?";
-
-        try (Connection conn = DriverManager.getConnection(DATABASE_URL);
-             PreparedStatement pstmt = conn.prepareStatement(selectSQL)) {
-            
-            pstmt.setInt(1, id);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    LocalDate publishedDate;
-                    try {
-                        // SQLite stores dates as TEXT, so get as string first
-                        String dateStr = rs.getString("published_date");
-                        if (dateStr != null && !dateStr.isEmpty()) {
-                            // Check if it's a timestamp (all digits)
-                            if (dateStr.matches("\\d+")) {
-                                long timestamp = Long.parseLong(dateStr);
-                                publishedDate = new Date(timestamp).toLocalDate();
-                            } else {
-                                // It's a date string, parse it
-                                publishedDate = LocalDate.parse(dateStr);
-                            }
-                        } else {
-                            // Try as SQL Date if string is null
-                            Date sqlDate = rs.getDate("published_date");
-                            if (sqlDate != null) {
-                                publishedDate = sqlDate.toLocalDate();
-                            } else {
-                                publishedDate = LocalDate.now();
-                            }
-                        }
-                    } catch (Exception e) {
-                        // Fallback to current date if parsing fails
-                        System.err.println("Warning: Could not parse date for book ID " + rs.getInt("id") + ", using current date");
-                        publishedDate = LocalDate.now();
-                    }
-                    
-                    Book book = new Book(
-                        rs.getInt("id"),
-                        rs.getString("title"),
-                        rs.getString("author"),
-                        rs.getString("isbn"),
-                        publishedDate
-                    );
-                    System.out.println("Book found:");
-                    System.out.println(book);
-                } else {
-                    System.out.println("No book found with ID: " + id);
-                }
+        try {
+            Optional<Book> book = bookDao.findById(id);
+            if (book.isPresent()) {
+                System.out.println("Book found:");
+                System.out.println(book.get());
+            } else {
+                System.out.println("No book found with ID: " + id);
             }
             
         } catch (SQLException e) {
@@ -271,31 +123,17 @@ public class Main {
         System.out.println("\n--- Update Book ---");
         
         int id = getIntInput("Enter book ID to update: ");
-        
-        if (!bookExists(id)) {
-            System.out.println("No book found with ID: " + id);
-            return;
-        }
-        
         String title = getStringInput("Enter new title: ");
         String author = getStringInput("Enter new author: ");
         String isbn = getStringInput("Enter new ISBN: ");
         LocalDate publishedDate = getDateInput("Enter new published date (YYYY-MM-DD): ");
 
-        String updateSQL = "UPDATE books SET title = ?, author = ?, isbn = ?, published_date = ? WHERE id = ?";
-
-        try (Connection conn = DriverManager.getConnection(DATABASE_URL);
-             PreparedStatement pstmt = conn.prepareStatement(updateSQL)) {
-            
-            pstmt.setString(1, title);
-            pstmt.setString(2, author);
-            pstmt.setString(3, isbn);
-            pstmt.setDate(4, Date.valueOf(publishedDate));
-            pstmt.setInt(5, id);
-            
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
+        try {
+            // a missing book shows up as zero affected rows, no separate existence check needed
+            if (bookDao.update(new Book(id, title, author, isbn, publishedDate))) {
                 System.out.println("Book updated successfully!");
+            } else {
+                System.out.println("No book found with ID: " + id);
             }
             
         } catch (SQLException e) {
@@ -312,27 +150,17 @@ public class Main {
         
         int id = getIntInput("Enter book ID to delete: ");
         
-        if (!bookExists(id)) {
-            System.out.println("No book found with ID: " + id);
-            return;
-        }
-        
         String confirm = getStringInput("Are you sure you want to delete this book? (yes/no): ");
         if (!confirm.equalsIgnoreCase("yes")) {
             System.out.println("Delete cancelled.");
             return;
         }
 
-        String deleteSQL = "DELETE FROM books WHERE id = ?";
-
-        try (Connection conn = DriverManager.getConnection(DATABASE_URL);
-             PreparedStatement pstmt = conn.prepareStatement(deleteSQL)) {
-            
-            pstmt.setInt(1, id);
-            
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
+        try {
+            if (bookDao.delete(id)) {
                 System.out.println("Book deleted successfully!");
+            } else {
+                System.out.println("No book found with ID: " + id);
             }
             
         } catch (SQLException e) {
@@ -340,24 +168,6 @@ public class Main {
         }
     }
 
-    private static boolean bookExists(int id) {
-        String selectSQL = "SELECT 1 FROM books WHERE id = ?";
-        
-        try (Connection conn = DriverManager.getConnection(DATABASE_URL);
-             PreparedStatement pstmt = conn.prepareStatement(selectSQL)) {
-            
-            pstmt.setInt(1, id);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                return rs.next();
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("Error checking book existence: " + e.getMessage());
-            return false;
-        }
-    }
-
     private static String getStringInput(String prompt) {
         System.out.print(prompt);
         return scanner.nextLine().trim();
@@ -0,0 +1,58 @@
+package org.lecture;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Stores books.published_date as the number of days since 1970-01-01 (INTEGER), so reading a date
+ * is one getLong and no string parsing. Older databases hold ISO TEXT dates or epoch milliseconds;
+ * {@link #decodeLegacy(String)} is only used by the one-time migration that rewrites them.
+ */
+final class PublishedDateCodec {
+
+    private PublishedDateCodec() {
+    }
+
+    static long encode(LocalDate date) {
+        return date.toEpochDay();
+    }
+
+    static LocalDate decode(ResultSet rs, int column) throws SQLException {
+        long epochDay = rs.getLong(column);
+        return rs.wasNull() ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Decodes the formats written before the migration: epoch milliseconds (as written by setDate)
+     * or an ISO date string. Returns null for anything else.
+     */
+    static LocalDate decodeLegacy(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        if (isDigits(value)) {
+            return new Date(Long.parseLong(value)).toLocalDate();
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static boolean isDigits(String value) {
+        if (value.length() > 18) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
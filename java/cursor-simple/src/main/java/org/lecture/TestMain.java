@@ -2,136 +2,238 @@ package org.lecture;
 
 import java.sql.*;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Runs the same CRUD workload twice and compares the timings: once the old way, with a new connection
+ * per operation and an existence query before every update and delete, and once through {@link BookDao},
+ * which keeps one connection with prepared statements. Pass the number of books as first argument.
+ */
 public class TestMain {
     private static final String DATABASE_URL = "jdbc:sqlite:test_books.db";
+    private static final int DEFAULT_BOOKS = 1000;
+    private static final String[] PHASES = {"create", "read", "list", "update", "delete"};
 
     public static void main(String[] args) {
         System.out.println("=== Testing Book CRUD Operations ===");
+        int books = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BOOKS;
         
         try {
-            // Initialize database
-            initializeDatabase();
+            resetDatabase();
+            long[] perCallConnection = runPerCallConnectionWorkload(books);
+            System.out.println("✓ Per-call connection workload verified");
             
-            // Test Create
-            testCreate();
-            
-            // Test Read/List
-            testReadAndList();
-            
-            // Test Update
-            testUpdate();
-            
-            // Test Delete
-            testDelete();
+            resetDatabase();
+            long[] bookDao = runBookDaoWorkload(books);
+            System.out.println("✓ BookDao workload verified");
             
+            printComparison(books, perCallConnection, bookDao);
             System.out.println("All tests completed successfully!");
             
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalStateException e) {
             System.err.println("Test failed: " + e.getMessage());
         }
     }
     
-    private static void initializeDatabase() throws SQLException {
-        String createTableSQL = "CREATE TABLE IF NOT EXISTS books (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                "title TEXT NOT NULL," +
-                "author TEXT NOT NULL," +
-                "isbn TEXT UNIQUE NOT NULL," +
-                "published_date DATE NOT NULL" +
-                ")";
-
+    private static void resetDatabase() throws SQLException {
         try (Connection conn = DriverManager.getConnection(DATABASE_URL);
              Statement stmt = conn.createStatement()) {
-            
             stmt.execute("DROP TABLE IF EXISTS books");
-            stmt.execute(createTableSQL);
-            System.out.println("✓ Database initialized");
         }
+        // the DAO creates the table
+        new BookDao(DATABASE_URL).close();
+    }
+    
+    private static long[] runBookDaoWorkload(int books) throws SQLException {
+        long[] timings = new long[PHASES.length];
+        
+        try (BookDao dao = new BookDao(DATABASE_URL)) {
+            List<Book> created = new ArrayList<>(books);
+            long start = System.nanoTime();
+            for (int i = 0; i < books; i++) {
+                Book book = newBook(i);
+                dao.create(book);
+                created.add(book);
+            }
+            timings[0] = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            for (Book book : created) {
+                check(dao.findById(book.getId()).isPresent(), "book " + book.getId() + " not found");
+            }
+            timings[1] = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            check(dao.listAll().size() == books, "list did not return " + books + " books");
+            timings[2] = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            for (Book book : created) {
+                book.setTitle(book.getTitle() + ": Updated Edition");
+                check(dao.update(book), "update of book " + book.getId() + " found no row");
+            }
+            timings[3] = System.nanoTime() - start;
+            check(!dao.update(new Book(-1, "Missing", "Nobody", "isbn-missing", LocalDate.now())),
+                    "update of a missing book reported a row");
+            
+            start = System.nanoTime();
+            for (Book book : created) {
+                check(dao.delete(book.getId()), "delete of book " + book.getId() + " found no row");
+            }
+            timings[4] = System.nanoTime() - start;
+            check(dao.listAll().isEmpty(), "books left after delete");
+        }
+        return timings;
+    }
+    
+    private static long[] runPerCallConnectionWorkload(int books) throws SQLException {
+        long[] timings = new long[PHASES.length];
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < books; i++) {
+            createPerCall(newBook(i));
+        }
+        timings[0] = System.nanoTime() - start;
+        
+        // fresh table, so the ids are 1..books
+        start = System.nanoTime();
+        for (int id = 1; id <= books; id++) {
+            check(readPerCall(id), "book " + id + " not found");
+        }
+        timings[1] = System.nanoTime() - start;
+        
+        start = System.nanoTime();
+        check(listPerCall() == books, "list did not return " + books + " books");
+        timings[2] = System.nanoTime() - start;
+        
+        start = System.nanoTime();
+        for (int id = 1; id <= books; id++) {
+            Book book = newBook(id - 1);
+            book.setId(id);
+            book.setTitle(book.getTitle() + ": Updated Edition");
+            check(bookExistsPerCall(id), "book " + id + " not found");
+            updatePerCall(book);
+        }
+        timings[3] = System.nanoTime() - start;
+        
+        start = System.nanoTime();
+        for (int id = 1; id <= books; id++) {
+            check(bookExistsPerCall(id), "book " + id + " not found");
+            deletePerCall(id);
+        }
+        timings[4] = System.nanoTime() - start;
+        check(listPerCall() == 0, "books left after delete");
+        
+        return timings;
     }
     
-    private static void testCreate() throws SQLException {
+    private static void createPerCall(Book book) throws SQLException {
         String insertSQL = "INSERT INTO books (title, author, isbn, published_date) VALUES (?, ?, ?, ?)";
 
         try (Connection conn = DriverManager.getConnection(DATABASE_URL);
              PreparedStatement pstmt = conn.prepareStatement(insertSQL)) {
             
-            pstmt.setString(1, "Clean Code");
-            pstmt.setString(2, "Robert C. Martin");
-            pstmt.setString(3, "978-0132350884");
-            pstmt.setDate(4, Date.valueOf(LocalDate.of(2008, 8, 1)));
+            pstmt.setString(1, book.getTitle());
+            pstmt.setString(2, book.getAuthor());
+            pstmt.setString(3, book.getIsbn());
+            pstmt.setLong(4, PublishedDateCodec.encode(book.getPublishedDate()));
+            pstmt.executeUpdate();
+        }
+    }
+    
+    private static boolean readPerCall(int id) throws SQLException {
+        String selectByIdSQL = "SELECT id, title, author, isbn, published_date FROM books WHERE id = ?";
+        
+        try (Connection conn = DriverManager.getConnection(DATABASE_URL);
+             PreparedStatement pstmt = conn.prepareStatement(selectByIdSQL)) {
             
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
-                System.out.println("✓ Create: Book created successfully");
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
             }
         }
     }
     
-    private static void testReadAndList() throws SQLException {
+    private static int listPerCall() throws SQLException {
         String selectSQL = "SELECT id, title, author, isbn, published_date FROM books ORDER BY id";
-
+        
         try (Connection conn = DriverManager.getConnection(DATABASE_URL);
              PreparedStatement pstmt = conn.prepareStatement(selectSQL);
              ResultSet rs = pstmt.executeQuery()) {
             
-            System.out.println("✓ List: Books in database:");
+            int count = 0;
             while (rs.next()) {
-                System.out.printf("  ID: %d | Title: %s | Author: %s | ISBN: %s | Published: %s%n",
-                    rs.getInt("id"),
-                    rs.getString("title"),
-                    rs.getString("author"),
-                    rs.getString("isbn"),
-                    rs.getDate("published_date").toLocalDate()
-                );
+                count++;
             }
+            return count;
         }
+    }
+    
+    private static boolean bookExistsPerCall(int id) throws SQLException {
+        String selectSQL = "SELECT 1 FROM books WHERE id = ?";
         
-        // Test read specific book
-        String selectByIdSQL = "SELECT id, title, author, isbn, published_date FROM books WHERE id = ?";
         try (Connection conn = DriverManager.getConnection(DATABASE_URL);
-             PreparedStatement pstmt = conn.prepareStatement(selectByIdSQL)) {
+             PreparedStatement pstmt = conn.prepareStatement(selectSQL)) {
             
-            pstmt.setInt(1, 1);
+            pstmt.setInt(1, id);
             try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    System.out.println("✓ Read: Found book with ID 1");
-                }
+                return rs.next();
             }
         }
     }
     
-    private static void testUpdate() throws SQLException {
+    private static void updatePerCall(Book book) throws SQLException {
         String updateSQL = "UPDATE books SET title = ?, author = ?, isbn = ?, published_date = ? WHERE id = ?";
 
         try (Connection conn = DriverManager.getConnection(DATABASE_URL);
              PreparedStatement pstmt = conn.prepareStatement(updateSQL)) {
             
-            pstmt.setString(1, "Clean Code: Updated Edition");
-            pstmt.setString(2, "Robert C. Martin");
-            pstmt.setString(3, "978-0132350884");
-            pstmt.setDate(4, Date.valueOf(LocalDate.of(2009, 8, 1)));
-            pstmt.setInt(5, 1);
-            
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
-                System.out.println("✓ Update: Book updated successfully");
-            }
+            pstmt.setString(1, book.getTitle());
+            pstmt.setString(2, book.getAuthor());
+            pstmt.setString(3, book.getIsbn());
+            pstmt.setLong(4, PublishedDateCodec.encode(book.getPublishedDate()));
+            pstmt.setInt(5, book.getId());
+            pstmt.executeUpdate();
         }
     }
     
-    private static void testDelete() throws SQLException {
+    private static void deletePerCall(int id) throws SQLException {
         String deleteSQL = "DELETE FROM books WHERE id = ?";
 
         try (Connection conn = DriverManager.getConnection(DATABASE_URL);
              PreparedStatement pstmt = conn.prepareStatement(deleteSQL)) {
             
-            pstmt.setInt(1, 1);
-            
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
-                System.out.println("✓ Delete: Book deleted successfully");
-            }
+            pstmt.setInt(1, id);
+            pstmt.executeUpdate();
+        }
+    }
+    
+    private static Book newBook(int i) {
+        return new Book("Clean Code " + i, "Robert C. Martin", "978-" + i, LocalDate.of(2008, 8, 1).plusDays(i % 5000));
+    }
+    
+    private static void printComparison(int books, long[] perCallConnection, long[] bookDao) {
+        System.out.printf("%n%d books%n", books);
+        System.out.printf("%-8s %18s %12s %9s%n", "phase", "per-call conn (ms)", "BookDao (ms)", "speedup");
+        long perCallTotal = 0;
+        long daoTotal = 0;
+        for (int i = 0; i < PHASES.length; i++) {
+            printRow(PHASES[i], perCallConnection[i], bookDao[i]);
+            perCallTotal += perCallConnection[i];
+            daoTotal += bookDao[i];
+        }
+        printRow("total", perCallTotal, daoTotal);
+    }
+    
+    private static void printRow(String phase, long perCallNanos, long daoNanos) {
+        System.out.printf("%-8s %18.1f %12.1f %8.1fx%n",
+            phase, perCallNanos / 1_000_000.0, daoNanos / 1_000_000.0, (double) perCallNanos / Math.max(1, daoNanos));
+    }
+    
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
         }
     }
 }
\ No newline at end of file
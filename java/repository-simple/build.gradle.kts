@@ -1,6 +1,7 @@
 plugins {
     id("java")
     application
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.lecture"
@@ -12,12 +13,28 @@ repositories {
 
 dependencies {
     implementation("org.xerial:sqlite-jdbc:3.42.0.0")
+    annotationProcessor(project(":processor"))
     testImplementation(platform("org.junit:junit-bom:5.9.1"))
     testImplementation("org.junit.jupiter:junit-jupiter")
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        // -PexcludeTags=stress skips the multithreaded repository tests
+        findProperty("excludeTags")?.let { excludeTags(it.toString()) }
+    }
+}
+
+jmh {
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
+
+val stressTest by tasks.registering(JavaExec::class) {
+    description = "Runs the multithreaded stress test against the connection pool."
+    group = "verification"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.lecture.ConcurrencyStress")
 }
 
 application {
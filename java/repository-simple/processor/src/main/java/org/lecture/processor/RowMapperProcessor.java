@@ -0,0 +1,204 @@
+package org.lecture.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code <Entity>RowMapper} for every class annotated with {@code org.lecture.Entity}.
+ * The mapper reads the @Column fields by result set index and assigns them directly, and is
+ * registered in META-INF/services/org.lecture.RowMapper.
+ */
+@SupportedAnnotationTypes({RowMapperProcessor.ENTITY, RowMapperProcessor.COLUMN})
+public class RowMapperProcessor extends AbstractProcessor {
+
+    static final String ENTITY = "org.lecture.Entity";
+    static final String COLUMN = "org.lecture.Column";
+    private static final String SERVICE_FILE = "META-INF/services/org.lecture.RowMapper";
+
+    private final List<String> generatedMappers = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement entityAnnotation = processingEnv.getElementUtils().getTypeElement(ENTITY);
+        if (entityAnnotation != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(entityAnnotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    generateMapper((TypeElement) element);
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !generatedMappers.isEmpty()) {
+            writeServiceFile();
+        }
+        // @Entity and @Column only exist for this processor, claim them so no other processor is asked
+        return true;
+    }
+
+    private void generateMapper(TypeElement entity) {
+        if (entity.getNestingKind() != NestingKind.TOP_LEVEL) {
+            error(entity, "@Entity classes must be top level classes to get a generated row mapper");
+            return;
+        }
+        if (!hasAccessibleDefaultConstructor(entity)) {
+            error(entity, "@Entity classes need a non-private default constructor");
+            return;
+        }
+
+        List<VariableElement> fields = new ArrayList<>();
+        List<String> columns = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(entity.getEnclosedElements())) {
+            String column = columnName(field);
+            if (column == null || field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            if (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.FINAL)) {
+                error(field, "@Column fields must be non-private and non-final to be written by the generated row mapper");
+                return;
+            }
+            fields.add(field);
+            columns.add(column);
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+        String entityName = entity.getSimpleName().toString();
+        String mapperName = entityName + "RowMapper";
+        String qualifiedMapperName = packageName.isEmpty() ? mapperName : packageName + "." + mapperName;
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import java.sql.ResultSet;\n")
+                .append("import java.sql.SQLException;\n\n")
+                // a comment instead of @Generated, which no processor claims and would trip -Xlint:processing
+                .append("/** Generated by ").append(getClass().getName()).append(", do not edit. */\n")
+                .append("public final class ").append(mapperName)
+                .append(" implements org.lecture.RowMapper<").append(entityName).append("> {\n\n")
+                .append("    private static final String[] COLUMNS = {");
+        for (int i = 0; i < columns.size(); i++) {
+            source.append(i == 0 ? "" : ", ").append('"').append(columns.get(i)).append('"');
+        }
+        source.append("};\n\n")
+                .append("    @Override\n")
+                .append("    public Class<").append(entityName).append("> type() {\n")
+                .append("        return ").append(entityName).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public String[] columns() {\n")
+                .append("        return COLUMNS.clone();\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public ").append(entityName).append(" map(ResultSet rs) throws SQLException {\n")
+                .append("        ").append(entityName).append(" entity = new ").append(entityName).append("();\n");
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            source.append("        entity.").append(field.getSimpleName()).append(" = ")
+                    .append(getter(field, i + 1)).append(";\n");
+        }
+        source.append("        return entity;\n")
+                .append("    }\n")
+                .append("}\n");
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedMapperName, entity);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+            generatedMappers.add(qualifiedMapperName);
+        } catch (IOException e) {
+            error(entity, "Failed to write " + qualifiedMapperName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Picks the typed ResultSet getter for the field, reading by column index.
+     */
+    private String getter(VariableElement field, int index) {
+        String type = processingEnv.getTypeUtils().erasure(field.asType()).toString();
+        return switch (type) {
+            case "java.lang.String" -> "rs.getString(" + index + ")";
+            case "int" -> "rs.getInt(" + index + ")";
+            case "long" -> "rs.getLong(" + index + ")";
+            case "double" -> "rs.getDouble(" + index + ")";
+            case "float" -> "rs.getFloat(" + index + ")";
+            case "boolean" -> "rs.getBoolean(" + index + ")";
+            case "short" -> "rs.getShort(" + index + ")";
+            case "byte" -> "rs.getByte(" + index + ")";
+            case "byte[]" -> "rs.getBytes(" + index + ")";
+            default -> "rs.getObject(" + index + ", " + type + ".class)";
+        };
+    }
+
+    private String columnName(VariableElement field) {
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (!annotationType.getQualifiedName().contentEquals(COLUMN)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("name")) {
+                    String name = entry.getValue().getValue().toString();
+                    if (!name.isEmpty()) {
+                        return name;
+                    }
+                }
+            }
+            return field.getSimpleName().toString();
+        }
+        return null;
+    }
+
+    private boolean hasAccessibleDefaultConstructor(TypeElement entity) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(entity.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeServiceFile() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String mapper : generatedMappers) {
+                    writer.write(mapper);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
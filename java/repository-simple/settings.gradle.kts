@@ -1,2 +1,2 @@
 rootProject.name = "cursor-simple"
-
+include("processor")
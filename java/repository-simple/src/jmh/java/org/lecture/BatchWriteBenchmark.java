@@ -0,0 +1,74 @@
+package org.lecture;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads {@code size} accounts into an empty database, one row per statement in autocommit
+ * versus createAll with chunked transactions. Every iteration starts from a fresh database file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BatchWriteBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    @Param({"1000"})
+    private int chunkSize;
+
+    private Path databaseFile;
+    private AccountRepository repo;
+    private List<Account> accounts;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        databaseFile = Files.createTempFile("accounts-bench-", ".db");
+        repo = new AccountRepository("jdbc:sqlite:" + databaseFile);
+        accounts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            accounts.add(new Account(UUID.randomUUID().toString(), "user" + i, "secret", "user" + i + "@test.com",
+                    String.valueOf(System.currentTimeMillis())));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws Exception {
+        repo.close();
+        Files.deleteIfExists(databaseFile);
+    }
+
+    @Benchmark
+    public void createOneByOne() throws Exception {
+        for (Account account : accounts) {
+            repo.create(account);
+        }
+    }
+
+    @Benchmark
+    public int[] createAll() throws Exception {
+        return repo.createAll(accounts, chunkSize);
+    }
+}
@@ -0,0 +1,172 @@
+package org.lecture;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Multithreaded stress run for AccountRepository on the connection pool. It checks that concurrent
+ * readers and writers neither lose nor mix up rows, that a failed unit of work is rolled back, and
+ * prints read throughput for 1..cores reader threads next to a constantly writing thread.
+ * Exits with a non-zero status when a check fails. Run with {@code make stress}.
+ */
+public class ConcurrencyStress {
+
+    private static final int SEED_ROWS = 10_000;
+    private static final int WRITER_THREADS = 4;
+    private static final int ROWS_PER_WRITER = 500;
+    private static final long READ_PHASE_MS = 3_000;
+
+    public static void main(String[] args) throws Exception {
+        Path databaseFile = Files.createTempFile("accounts-stress-", ".db");
+        try (AccountRepository repo = new AccountRepository("jdbc:sqlite:" + databaseFile)) {
+            String[] ids = seed(repo);
+            checkConcurrentWrites(repo);
+            checkRollback(repo);
+            measureReads(repo, ids);
+            System.out.println("all checks passed");
+        } finally {
+            Files.deleteIfExists(databaseFile);
+            Files.deleteIfExists(Path.of(databaseFile + "-wal"));
+            Files.deleteIfExists(Path.of(databaseFile + "-shm"));
+        }
+    }
+
+    private static String[] seed(AccountRepository repo) throws Exception {
+        List<Account> accounts = new ArrayList<>(SEED_ROWS);
+        String[] ids = new String[SEED_ROWS];
+        for (int i = 0; i < SEED_ROWS; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            accounts.add(account(ids[i], "user" + i));
+        }
+        repo.createAll(accounts);
+        return ids;
+    }
+
+    /**
+     * Several threads insert rows one by one and in units of work at the same time; every row must arrive.
+     */
+    private static void checkConcurrentWrites(AccountRepository repo) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITER_THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < WRITER_THREADS; t++) {
+                int writer = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < ROWS_PER_WRITER; i += 2) {
+                        repo.create(account(UUID.randomUUID().toString(), "writer" + writer));
+                        repo.inTransaction(() -> {
+                            Account account = account(UUID.randomUUID().toString(), "writer" + writer);
+                            repo.create(account);
+                            // reads inside the unit of work see its own writes
+                            check(repo.get(account.id) != null, "unit of work cannot read its own insert");
+                            return null;
+                        });
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        long expected = SEED_ROWS + (long) WRITER_THREADS * ROWS_PER_WRITER;
+        check(count(repo) == expected, "expected " + expected + " accounts after concurrent writes, found " + count(repo));
+        System.out.println("concurrent writes: " + expected + " accounts, none lost");
+    }
+
+    private static void checkRollback(AccountRepository repo) throws Exception {
+        String id = UUID.randomUUID().toString();
+        try {
+            repo.inTransaction(() -> {
+                repo.create(account(id, "rolled back"));
+                throw new IllegalStateException("abort");
+            });
+        } catch (IllegalStateException expected) {
+            // the unit of work is rolled back
+        }
+        check(repo.get(id) == null, "insert of a failed unit of work was not rolled back");
+        System.out.println("rollback: failed unit of work left no rows");
+    }
+
+    /**
+     * Reads random accounts from 1..cores threads while another thread keeps updating accounts.
+     * Every read must return the requested account.
+     */
+    private static void measureReads(AccountRepository repo, String[] ids) throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        double singleThreaded = 0;
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            AtomicBoolean running = new AtomicBoolean(true);
+            AtomicLong reads = new AtomicLong();
+            AtomicLong writes = new AtomicLong();
+            ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                futures.add(executor.submit(() -> {
+                    while (running.get()) {
+                        String id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+                        repo.update(account(id, "updated"));
+                        writes.incrementAndGet();
+                    }
+                    return null;
+                }));
+                for (int t = 0; t < threads; t++) {
+                    futures.add(executor.submit(() -> {
+                        while (running.get()) {
+                            String id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+                            Account account = repo.get(id);
+                            check(account != null && id.equals(account.id), "read of " + id + " returned " + account);
+                            reads.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                Thread.sleep(READ_PHASE_MS);
+                running.set(false);
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            double readsPerSecond = reads.get() * 1000.0 / READ_PHASE_MS;
+            if (threads == 1) {
+                singleThreaded = readsPerSecond;
+            }
+            System.out.printf("%2d reader threads: %,.0f reads/s (x%.2f), %,.0f writes/s%n",
+                    threads, readsPerSecond, readsPerSecond / singleThreaded, writes.get() * 1000.0 / READ_PHASE_MS);
+            check(writes.get() > 0, "the writer made no progress next to " + threads + " readers");
+        }
+    }
+
+    private static long count(AccountRepository repo) throws Exception {
+        try (Stream<Account> accounts = repo.stream()) {
+            return accounts.count();
+        }
+    }
+
+    private static Account account(String id, String username) {
+        return new Account(id, username, "secret", username.replace(' ', '.') + "@test.com",
+                String.valueOf(System.currentTimeMillis()));
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
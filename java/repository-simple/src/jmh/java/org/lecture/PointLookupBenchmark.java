@@ -0,0 +1,73 @@
+package org.lecture;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point lookups by id with and without the prepared statement cache (statementCacheSize 0 disables it).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PointLookupBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"0", "32"})
+    private int statementCacheSize;
+
+    private Path databaseFile;
+    private AccountRepository repo;
+    private String[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        databaseFile = Files.createTempFile("accounts-lookup-", ".db");
+        repo = new AccountRepository("jdbc:sqlite:" + databaseFile, statementCacheSize);
+        List<Account> accounts = new ArrayList<>(ROWS);
+        ids = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            accounts.add(new Account(ids[i], "user" + i, "secret", "user" + i + "@test.com",
+                    String.valueOf(System.currentTimeMillis())));
+        }
+        repo.createAll(accounts);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (repo.connectionProvider() instanceof SqliteConnectionPool pool) {
+            System.out.println("statement cache hits: " + pool.getStatementCacheHits()
+                    + ", misses: " + pool.getStatementCacheMisses());
+        }
+        repo.close();
+        Files.deleteIfExists(databaseFile);
+    }
+
+    @Benchmark
+    public Account get() throws Exception {
+        return repo.get(ids[next++ % ROWS]);
+    }
+}
@@ -1,136 +1,301 @@
 package org.lecture;
 
-import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface AbstractRepository<T> {
 
-    Connection getConnection();
+    /**
+     * Where the default methods borrow their connections from; the only way they get one.
+     */
+    ConnectionProvider connectionProvider();
+
+    /**
+     * Runs the work as one transaction; all calls of this thread on repositories sharing the
+     * connection provider take part in it. Committed on return, rolled back when the work throws.
+     */
+    default <R> R inTransaction(Callable<R> work) throws Exception {
+        return connectionProvider().inTransaction(work);
+    }
+
+    private ConnectionLease lease(boolean readOnly) throws SQLException {
+        return connectionProvider().acquire(readOnly);
+    }
 
     default List<T> all() throws Exception {
         List<T> results = new ArrayList<>();
-        String sql = "SELECT * FROM " + getClassType().getSimpleName();
-        try (Statement stmt = getConnection().createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                results.add(fromResultSet(rs, getClassType()));
+        EntityMetadata<T> metadata = metadata();
+        try (ConnectionLease lease = lease(true)) {
+            PreparedStatement pstmt = lease.prepare(metadata.selectAllSql());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    results.add(metadata.map(rs));
+                }
+            } finally {
+                lease.release(pstmt);
             }
         }
 
         return results;
     }
 
-    Class<T> getClassType();
+    /**
+     * Number of rows the driver fetches per round trip when streaming.
+     */
+    default int fetchSize() {
+        return 500;
+    }
 
-    default T get(String id) throws Exception {
-        String sql = "SELECT * FROM " + getTableName() + " WHERE id = ?";
-        try (PreparedStatement pstmt = getConnection().prepareStatement(sql)) {
-            pstmt.setString(1, id);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return fromResultSet(rs, getClassType());
-                } else {
-                    return null;
+    default Stream<T> stream() throws Exception {
+        return stream(null);
+    }
+
+    /**
+     * Maps rows lazily from an open cursor, so tables of any size are scanned in constant memory.
+     * The where clause is appended as is and its values have to be passed as ? parameters.
+     * The stream holds its connection, statement and result set until it is closed, so use try-with-resources.
+     * Its statement is never taken from the statement cache, as two open streams must not share a cursor.
+     */
+    default Stream<T> stream(String where, Object... params) throws Exception {
+        EntityMetadata<T> metadata = metadata();
+        String sql = where == null || where.isBlank()
+                ? metadata.selectAllSql()
+                : metadata.selectAllSql() + " WHERE " + where;
+
+        ConnectionLease lease = lease(true);
+        PreparedStatement pstmt;
+        ResultSet rs;
+        try {
+            pstmt = lease.connection().prepareStatement(sql);
+            try {
+                pstmt.setFetchSize(fetchSize());
+                for (int i = 0; i < params.length; i++) {
+                    pstmt.setObject(i + 1, params[i]);
+                }
+                rs = pstmt.executeQuery();
+            } catch (Exception e) {
+                pstmt.close();
+                throw e;
+            }
+        } catch (Exception e) {
+            lease.close();
+            throw e;
+        }
+
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    action.accept(metadata.map(rs));
+                    return true;
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new RuntimeException("Failed to read the next row of " + metadata.tableName(), e);
                 }
             }
+        };
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            try (lease; pstmt; rs) {
+                // closes the result set and the statement, then returns the connection
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to close the cursor on " + metadata.tableName(), e);
+            }
+        });
+    }
+
+    default void forEach(Consumer<? super T> action) throws Exception {
+        try (Stream<T> entities = stream()) {
+            entities.forEach(action);
         }
     }
 
-    default void create(T entity) throws Exception {
-        StringBuilder sql = new StringBuilder("INSERT INTO ");
-        sql.append(entity.getClass().getSimpleName());  // Assuming table name is class name
-        sql.append(" (");
+    Class<T> getClassType();
 
-        Field[] fields = entity.getClass().getDeclaredFields();
+    /**
+     * Cached per entity class, so SQL and field accessors are only built once.
+     */
+    default EntityMetadata<T> metadata() {
+        return EntityMetadata.of(getClassType());
+    }
 
-        for (int i = 0; i < fields.length; i++) {
-            fields[i].setAccessible(true);  // If the field is private
-            sql.append(fields[i].getName());
-            if (i < fields.length - 1) {
-                sql.append(", ");
+    default T get(String id) throws Exception {
+        EntityMetadata<T> metadata = metadata();
+        try (ConnectionLease lease = lease(true)) {
+            PreparedStatement pstmt = lease.prepare(metadata.selectByIdSql());
+            try {
+                pstmt.setString(1, id);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return metadata.map(rs);
+                    } else {
+                        return null;
+                    }
+                }
+            } finally {
+                lease.release(pstmt);
             }
         }
-        sql.append(") VALUES (");
+    }
 
-        for (int i = 0; i < fields.length; i++) {
-            sql.append("?");
-            if (i < fields.length - 1) {
-                sql.append(", ");
+    default void create(T entity) throws Exception {
+        EntityMetadata<T> metadata = metadata();
+        try (ConnectionLease lease = lease(false)) {
+            PreparedStatement pstmt = lease.prepare(metadata.insertSql());
+            try {
+                metadata.bindInsert(pstmt, entity);
+                pstmt.executeUpdate();
+            } finally {
+                lease.release(pstmt);
             }
         }
-        sql.append(")");
+    }
 
-        try (PreparedStatement pstmt = getConnection().prepareStatement(sql.toString())) {
-            for (int i = 0; i < fields.length; i++) {
-                pstmt.setObject(i + 1, fields[i].get(entity));
+    default void update(T entity) throws Exception {
+        EntityMetadata<T> metadata = metadata();
+        try (ConnectionLease lease = lease(false)) {
+            PreparedStatement pstmt = lease.prepare(metadata.updateSql());
+            try {
+                metadata.bindUpdate(pstmt, entity);
+                pstmt.executeUpdate();
+            } finally {
+                lease.release(pstmt);
             }
-            pstmt.executeUpdate();
         }
     }
 
-    default void update(T entity) throws Exception {
-        Field[] fields = entity.getClass().getDeclaredFields();
-        StringBuilder sql = new StringBuilder("UPDATE " + entity.getClass().getSimpleName() + " SET ");
-        for (int i = 0; i < fields.length; i++) {
-            if (!fields[i].getName().equalsIgnoreCase("id")) { // Assuming "id" is primary key and shouldn't be updated
-                fields[i].setAccessible(true);
-                sql.append(fields[i].getName()).append(" = ?");
-                if (i < fields.length - 1) {
-                    sql.append(", ");
-                }
+    default void delete(String id) throws Exception {
+        try (ConnectionLease lease = lease(false)) {
+            PreparedStatement pstmt = lease.prepare(metadata().deleteSql());
+            try {
+                pstmt.setString(1, id);
+                pstmt.executeUpdate();
+            } finally {
+                lease.release(pstmt);
             }
         }
-        sql.append(" WHERE id = ?"); // Using "id" as primary key for WHERE condition
+    }
+
+    /**
+     * Number of rows written per transaction by the batch methods.
+     */
+    default int batchChunkSize() {
+        return 1000;
+    }
+
+    default int[] createAll(Collection<T> entities) throws Exception {
+        return createAll(entities, batchChunkSize());
+    }
+
+    default int[] createAll(Collection<T> entities, int chunkSize) throws Exception {
+        EntityMetadata<T> metadata = metadata();
+        return executeBatch(metadata.insertSql(), entities, chunkSize, metadata::bindInsert);
+    }
+
+    default int[] updateAll(Collection<T> entities) throws Exception {
+        return updateAll(entities, batchChunkSize());
+    }
+
+    default int[] updateAll(Collection<T> entities, int chunkSize) throws Exception {
+        EntityMetadata<T> metadata = metadata();
+        return executeBatch(metadata.updateSql(), entities, chunkSize, metadata::bindUpdate);
+    }
+
+    default int[] deleteAll(Collection<String> ids) throws Exception {
+        return deleteAll(ids, batchChunkSize());
+    }
+
+    default int[] deleteAll(Collection<String> ids, int chunkSize) throws Exception {
+        return executeBatch(metadata().deleteSql(), ids, chunkSize, (pstmt, id) -> pstmt.setString(1, id));
+    }
 
-        try (PreparedStatement pstmt = getConnection().prepareStatement(sql.toString())) {
-            int index = 1;
-            for (Field field : fields) {
-                if (!field.getName().equalsIgnoreCase("id")) {
-                    pstmt.setObject(index++, field.get(entity));
+    /**
+     * Runs one prepared statement as JDBC batches of chunkSize rows and returns the update count of every row.
+     * In autocommit mode every chunk is its own transaction and a failing chunk is rolled back, while
+     * earlier chunks stay committed. If the caller already started a transaction, the chunks join it.
+     */
+    private <E> int[] executeBatch(String sql, Collection<E> items, int chunkSize, StatementBinder<E> binder) throws Exception {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1");
+        }
+        if (items.isEmpty()) {
+            return new int[0];
+        }
+
+        try (ConnectionLease lease = lease(false)) {
+            return executeBatch(lease, sql, items, chunkSize, binder);
+        }
+    }
+
+    private <E> int[] executeBatch(ConnectionLease lease, String sql, Collection<E> items, int chunkSize,
+                                   StatementBinder<E> binder) throws Exception {
+        int[] results = new int[items.size()];
+        Connection con = lease.connection();
+        boolean autoCommit = con.getAutoCommit();
+        if (autoCommit) {
+            con.setAutoCommit(false);
+        }
+        PreparedStatement pstmt = lease.prepare(sql);
+        try {
+            int done = 0;
+            int pending = 0;
+            for (E item : items) {
+                binder.bind(pstmt, item);
+                pstmt.addBatch();
+                if (++pending == chunkSize || done + pending == results.length) {
+                    int[] counts = pstmt.executeBatch();
+                    System.arraycopy(counts, 0, results, done, counts.length);
+                    if (autoCommit) {
+                        con.commit();
+                    }
+                    done += pending;
+                    pending = 0;
                 }
             }
-            pstmt.setString(index, (String) entity.getClass().getDeclaredField("id").get(entity));  // Adding WHERE condition value
-            pstmt.executeUpdate();
+        } catch (Exception e) {
+            pstmt.clearBatch();
+            if (autoCommit) {
+                con.rollback();
+            }
+            throw e;
+        } finally {
+            lease.release(pstmt);
+            if (autoCommit) {
+                con.setAutoCommit(true);
+            }
         }
+        return results;
     }
 
-    default void delete(String id) throws Exception {
-        String sql = "DELETE FROM " + getTableName() + " WHERE id = ?";
-        try (PreparedStatement pstmt = getConnection().prepareStatement(sql)) {
-            pstmt.setString(1, id);
-            pstmt.executeUpdate();
-        }
+    @FunctionalInterface
+    interface StatementBinder<E> {
+        void bind(PreparedStatement pstmt, E item) throws Exception;
     }
 
     default String getTableName() {
-        // Assuming the generic type (T) is always the entity
-        Entity entityAnnotation = getClassType().getAnnotation(Entity.class);
-        if (entityAnnotation != null) {
-            return entityAnnotation.tableName();
-        } else {
-            throw new RuntimeException("Entity annotation missing on the domain class.");
-        }
+        return metadata().tableName();
     }
 
 
+    /**
+     * Maps the current row by column name, so the result set may come from any query that selects the
+     * entity's columns, in any order.
+     */
     default T fromResultSet(ResultSet rs, Class<T> clazz) throws Exception {
-        T instance = clazz.newInstance();  // Create a new instance of T
-
-        Field[] fields = clazz.getDeclaredFields();
-        for (Field field : fields) {
-            if (field.isAnnotationPresent(Column.class)) {
-                Column column = field.getAnnotation(Column.class);
-                Object value = rs.getObject(column.name());
-                field.setAccessible(true); // If field is private
-                field.set(instance, value);
-            }
-        }
-
-        return instance;
+        return EntityMetadata.of(clazz).mapByName(rs);
     }
 }
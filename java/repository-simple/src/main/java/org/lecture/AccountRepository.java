@@ -1,17 +1,17 @@
 package org.lecture;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
 
-public class AccountRepository implements AbstractRepository<Account> {
-    Connection con;
-    Statement stmt;
+public class AccountRepository implements AbstractRepository<Account>, AutoCloseable {
+    private static final int STATEMENT_CACHE_SIZE = 32;
+
+    private final ConnectionProvider connectionProvider;
 
     @Override
-    public Connection getConnection() {
-        return con;
+    public ConnectionProvider connectionProvider() {
+        return connectionProvider;
     }
 
     @Override
@@ -20,17 +20,39 @@ public class AccountRepository implements AbstractRepository<Account> {
     }
 
     public AccountRepository() throws Exception {
-        this.con = DriverManager.getConnection("jdbc:sqlite:accounts.db");
-        this.stmt = this.con.createStatement();
+        this("jdbc:sqlite:accounts.db");
+    }
+
+    public AccountRepository(String url) throws Exception {
+        this(url, STATEMENT_CACHE_SIZE);
+    }
+
+    /**
+     * Opens a pool with one writer and one reader connection per core.
+     *
+     * @param statementCacheSize number of prepared statements kept open per connection, 0 prepares a new statement per call
+     */
+    public AccountRepository(String url, int statementCacheSize) throws Exception {
+        this(new SqliteConnectionPool(url, Runtime.getRuntime().availableProcessors(), statementCacheSize));
+    }
+
+    /**
+     * The repository owns the provider and closes it in {@link #close()}.
+     */
+    public AccountRepository(ConnectionProvider connectionProvider) throws Exception {
+        this.connectionProvider = connectionProvider;
 
         // create table if it doesn't exist
-        this.stmt.execute("CREATE TABLE IF NOT EXISTS account (" +
-                "id TEXT PRIMARY KEY," +
-                "username TEXT NOT NULL," +
-                "password TEXT NOT NULL," +
-                "email TEXT NOT NULL," +
-                "created_on TEXT NOT NULL" +
-                ")");
+        try (ConnectionLease lease = connectionProvider.acquire(false);
+             Statement stmt = lease.connection().createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS account (" +
+                    "id TEXT PRIMARY KEY," +
+                    "username TEXT NOT NULL," +
+                    "password TEXT NOT NULL," +
+                    "email TEXT NOT NULL," +
+                    "created_on TEXT NOT NULL" +
+                    ")");
+        }
     }
 
     public List<Account> all() throws Exception {
@@ -100,4 +122,9 @@ public class AccountRepository implements AbstractRepository<Account> {
         AbstractRepository.super.delete(id);
         // stmt.execute("DELETE FROM account WHERE id = '" + id + "'");
     }
+
+    @Override
+    public void close() throws SQLException {
+        connectionProvider.close();
+    }
 }
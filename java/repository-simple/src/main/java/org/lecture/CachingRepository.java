@@ -0,0 +1,308 @@
+package org.lecture;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through/write-through cache in front of any repository: get is served from a bounded LRU map,
+ * create puts the new entity into it and update/delete invalidate the id. Entries expire after the TTL.
+ * The map is split into segments by id hash, each an LRU map with its own lock and an equal share of
+ * maxSize, so concurrent gets of different ids rarely wait for each other.
+ * Cached entities are shared between callers, so change them only together with a call to update.
+ * Writes made inside {@link #inTransaction(Callable)} invalidate instead of populate and are invalidated
+ * again when the unit of work ends, so rolled back changes never stay in the cache. Writes that bypass
+ * this decorator are not seen until the TTL expires.
+ */
+public class CachingRepository<T> implements AbstractRepository<T>, AutoCloseable {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final AbstractRepository<T> delegate;
+    private final long ttlNanos;
+    private final Segment<T>[] segments;
+    private final ThreadLocal<Set<String>> transactionWrites = new ThreadLocal<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * @param ttl time an entry stays valid after it was cached, null or zero for no expiry
+     */
+    public CachingRepository(AbstractRepository<T> delegate, int maxSize, Duration ttl) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        this.delegate = delegate;
+        this.ttlNanos = ttl == null || ttl.isZero() ? 0 : ttl.toNanos();
+        // a power of two, and never more segments than entries so every segment holds at least one
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxSize));
+        @SuppressWarnings("unchecked")
+        Segment<T>[] segments = (Segment<T>[]) new Segment<?>[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0), evictions);
+        }
+        this.segments = segments;
+    }
+
+    @Override
+    public Class<T> getClassType() {
+        return delegate.getClassType();
+    }
+
+    @Override
+    public ConnectionProvider connectionProvider() {
+        return delegate.connectionProvider();
+    }
+
+    @Override
+    public EntityMetadata<T> metadata() {
+        return delegate.metadata();
+    }
+
+    @Override
+    public int fetchSize() {
+        return delegate.fetchSize();
+    }
+
+    @Override
+    public int batchChunkSize() {
+        return delegate.batchChunkSize();
+    }
+
+    @Override
+    public List<T> all() throws Exception {
+        return delegate.all();
+    }
+
+    @Override
+    public T get(String id) throws Exception {
+        if (transactionWrites.get() != null) {
+            // inside a unit of work the row may be uncommitted, never cache it
+            return delegate.get(id);
+        }
+
+        Segment<T> segment = segmentFor(id);
+        long loadGeneration;
+        synchronized (segment) {
+            CacheEntry<T> entry = segment.entries.get(id);
+            if (entry != null) {
+                if (!entry.isExpired(System.nanoTime())) {
+                    hits.increment();
+                    return entry.value();
+                }
+                segment.entries.remove(id);
+                expirations.increment();
+            }
+            misses.increment();
+            loadGeneration = segment.generation;
+        }
+
+        T entity = delegate.get(id);
+        if (entity != null) {
+            synchronized (segment) {
+                if (segment.generation == loadGeneration) {
+                    put(segment, id, entity);
+                }
+            }
+        }
+        return entity;
+    }
+
+    @Override
+    public void create(T entity) throws Exception {
+        String id = metadata().idOf(entity);
+        if (transactionWrites.get() != null) {
+            delegate.create(entity);
+            written(id);
+            return;
+        }
+
+        Segment<T> segment = segmentFor(id);
+        long createGeneration;
+        synchronized (segment) {
+            createGeneration = segment.generation;
+        }
+        delegate.create(entity);
+        synchronized (segment) {
+            // an update or delete of the id that ran after the insert invalidated it already
+            if (segment.generation == createGeneration) {
+                put(segment, id, entity);
+            }
+        }
+    }
+
+    @Override
+    public void update(T entity) throws Exception {
+        delegate.update(entity);
+        written(metadata().idOf(entity));
+    }
+
+    @Override
+    public void delete(String id) throws Exception {
+        delegate.delete(id);
+        written(id);
+    }
+
+    @Override
+    public int[] createAll(Collection<T> entities, int chunkSize) throws Exception {
+        try {
+            return delegate.createAll(entities, chunkSize);
+        } finally {
+            // a failed chunk may have left earlier chunks committed
+            for (T entity : entities) {
+                written(metadata().idOf(entity));
+            }
+        }
+    }
+
+    @Override
+    public int[] updateAll(Collection<T> entities, int chunkSize) throws Exception {
+        try {
+            return delegate.updateAll(entities, chunkSize);
+        } finally {
+            for (T entity : entities) {
+                written(metadata().idOf(entity));
+            }
+        }
+    }
+
+    @Override
+    public int[] deleteAll(Collection<String> ids, int chunkSize) throws Exception {
+        try {
+            return delegate.deleteAll(ids, chunkSize);
+        } finally {
+            ids.forEach(this::written);
+        }
+    }
+
+    @Override
+    public <R> R inTransaction(Callable<R> work) throws Exception {
+        if (transactionWrites.get() != null) {
+            return delegate.inTransaction(work);
+        }
+        transactionWrites.set(new HashSet<>());
+        try {
+            return delegate.inTransaction(work);
+        } finally {
+            Set<String> written = transactionWrites.get();
+            transactionWrites.remove();
+            written.forEach(this::invalidate);
+        }
+    }
+
+    public void invalidate(String id) {
+        Segment<T> segment = segmentFor(id);
+        synchronized (segment) {
+            segment.generation++;
+            segment.entries.remove(id);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment<T> segment : segments) {
+            synchronized (segment) {
+                segment.generation++;
+                segment.entries.clear();
+            }
+        }
+    }
+
+    public CacheStats stats() {
+        int size = 0;
+        for (Segment<T> segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), size);
+    }
+
+    /**
+     * Closes the delegate if it is closeable; only {@link SQLException}s are expected from repositories.
+     */
+    @Override
+    public void close() throws SQLException {
+        invalidateAll();
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (SQLException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new SQLException("Failed to close " + delegate, e);
+            }
+        }
+    }
+
+    /**
+     * Invalidates a written id and, inside a unit of work, remembers it to be invalidated again at its end.
+     */
+    private void written(String id) {
+        Set<String> written = transactionWrites.get();
+        if (written != null) {
+            written.add(id);
+        }
+        invalidate(id);
+    }
+
+    private Segment<T> segmentFor(String id) {
+        int hash = id.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    /**
+     * Called with the lock of the segment held.
+     */
+    private void put(Segment<T> segment, String id, T entity) {
+        long expiresAt = ttlNanos > 0 ? System.nanoTime() + ttlNanos : Long.MAX_VALUE;
+        segment.entries.put(id, new CacheEntry<>(entity, expiresAt));
+    }
+
+    /**
+     * One access-ordered LRU map; its monitor guards the map and the generation.
+     */
+    private static final class Segment<T> {
+
+        final Map<String, CacheEntry<T>> entries;
+        // bumped on every invalidation, so a load that raced with a write is not cached
+        long generation;
+
+        Segment(int maxSize, LongAdder evictions) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CacheEntry<T>> eldest) {
+                    if (size() <= maxSize) {
+                        return false;
+                    }
+                    evictions.increment();
+                    return true;
+                }
+            };
+        }
+    }
+
+    private record CacheEntry<T>(T value, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt > 0;
+        }
+    }
+
+    public record CacheStats(long hits, long misses, long evictions, long expirations, int size) {
+
+        public double hitRatio() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+}
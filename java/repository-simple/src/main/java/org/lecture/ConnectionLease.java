@@ -0,0 +1,50 @@
+package org.lecture;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * A connection borrowed for one repository call, together with the statement cache of that connection.
+ * Closing the lease hands the connection back to where it came from; the connection itself stays open.
+ */
+public final class ConnectionLease implements AutoCloseable {
+
+    private final Connection connection;
+    private final StatementCache statements;
+    private final Runnable onClose;
+
+    /**
+     * @param statements cache of the connection, or null to prepare a new statement per call
+     * @param onClose    run when the lease is closed, or null if nothing has to be handed back
+     */
+    public ConnectionLease(Connection connection, StatementCache statements, Runnable onClose) {
+        this.connection = connection;
+        this.statements = statements;
+        this.onClose = onClose;
+    }
+
+    public Connection connection() {
+        return connection;
+    }
+
+    public PreparedStatement prepare(String sql) throws SQLException {
+        return statements != null ? statements.prepare(sql) : connection.prepareStatement(sql);
+    }
+
+    /**
+     * Closes statements that did not come from the cache; cached ones stay open for the next call.
+     */
+    public void release(PreparedStatement pstmt) throws SQLException {
+        if (statements == null) {
+            pstmt.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (onClose != null) {
+            onClose.run();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.lecture;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Callable;
+
+/**
+ * Source of connections for an {@link AbstractRepository}. Implementations decide which connection
+ * serves a call and must make sure a connection is only used by one thread at a time.
+ */
+public interface ConnectionProvider extends AutoCloseable {
+
+    /**
+     * Borrows a connection for one call. Read-only calls may be served by a separate reader connection.
+     * Inside {@link #inTransaction(Callable)} the connection of the running transaction is returned.
+     */
+    ConnectionLease acquire(boolean readOnly) throws SQLException;
+
+    /**
+     * Runs the work as one unit of work: every repository call made by the current thread inside it
+     * uses the same connection and transaction, which is committed when the work returns and rolled
+     * back when it throws. Nested calls join the outer transaction.
+     */
+    <R> R inTransaction(Callable<R> work) throws Exception;
+
+    @Override
+    void close() throws SQLException;
+
+    /**
+     * Runs the work in a transaction on the given connection, or inside the transaction
+     * that is already open on it.
+     */
+    static <R> R runInTransaction(Connection con, Callable<R> work) throws Exception {
+        if (!con.getAutoCommit()) {
+            return work.call();
+        }
+        con.setAutoCommit(false);
+        try {
+            R result = work.call();
+            con.commit();
+            return result;
+        } catch (Exception | Error e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(true);
+        }
+    }
+}
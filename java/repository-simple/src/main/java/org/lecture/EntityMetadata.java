@@ -0,0 +1,236 @@
+package org.lecture;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Everything the repository needs to know about an @Entity class, computed once per class:
+ * the SQL statements, the column order and method handles to read and write the fields.
+ * The SELECT statements list the columns explicitly, so rows are mapped by index,
+ * preferably with the {@link RowMapper} generated at compile time for the class.
+ */
+public final class EntityMetadata<T> {
+
+    private static final ClassValue<EntityMetadata<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected EntityMetadata<?> computeValue(Class<?> type) {
+            return new EntityMetadata<>(type);
+        }
+    };
+
+    private static final Map<Class<?>, RowMapper<?>> ROW_MAPPERS = loadRowMappers();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private final String tableName;
+    private final String[] columns;
+    private final MethodHandle[] getters;
+    private final MethodHandle[] setters;
+    private final MethodHandle constructor;
+    private final int idIndex;
+    private final RowMapper<T> rowMapper;
+
+    private final String insertSql;
+    private final String updateSql;
+    private final String selectAllSql;
+    private final String selectByIdSql;
+    private final String deleteSql;
+
+    @SuppressWarnings("unchecked")
+    public static <T> EntityMetadata<T> of(Class<T> type) {
+        return (EntityMetadata<T>) CACHE.get(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private EntityMetadata(Class<T> type) {
+        Entity entity = type.getAnnotation(Entity.class);
+        if (entity == null) {
+            throw new RuntimeException("Entity annotation missing on the domain class.");
+        }
+        this.tableName = entity.tableName().isEmpty() ? type.getSimpleName() : entity.tableName();
+
+        List<String> columnNames = new ArrayList<>();
+        List<MethodHandle> getterHandles = new ArrayList<>();
+        List<MethodHandle> setterHandles = new ArrayList<>();
+        int id = -1;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            for (Field field : type.getDeclaredFields()) {
+                Column column = field.getAnnotation(Column.class);
+                if (column == null || Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                String name = column.name().isEmpty() ? field.getName() : column.name();
+                // Assuming "id" is the primary key
+                if (name.equalsIgnoreCase("id")) {
+                    id = columnNames.size();
+                }
+                columnNames.add(name);
+                getterHandles.add(lookup.unreflectGetter(field).asType(GETTER_TYPE));
+                setterHandles.add(lookup.unreflectSetter(field).asType(SETTER_TYPE));
+            }
+            this.constructor = lookup.findConstructor(type, MethodType.methodType(void.class)).asType(CONSTRUCTOR_TYPE);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Cannot access the fields or the default constructor of " + type.getName(), e);
+        }
+        if (id < 0) {
+            throw new RuntimeException("Entity " + type.getName() + " has no id column.");
+        }
+
+        this.columns = columnNames.toArray(String[]::new);
+        this.getters = getterHandles.toArray(MethodHandle[]::new);
+        this.setters = setterHandles.toArray(MethodHandle[]::new);
+        this.idIndex = id;
+
+        // only trust a generated mapper that reads the same columns in the same order
+        RowMapper<?> generated = ROW_MAPPERS.get(type);
+        this.rowMapper = generated != null && Arrays.equals(generated.columns(), columns)
+                ? (RowMapper<T>) generated
+                : null;
+
+        String columnList = String.join(", ", columns);
+        this.insertSql = "INSERT INTO " + tableName + " (" + columnList + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        List<String> assignments = new ArrayList<>();
+        for (int i = 0; i < columns.length; i++) {
+            if (i != idIndex) {
+                assignments.add(columns[i] + " = ?");
+            }
+        }
+        this.updateSql = "UPDATE " + tableName + " SET " + String.join(", ", assignments)
+                + " WHERE " + columns[idIndex] + " = ?";
+        this.selectAllSql = "SELECT " + columnList + " FROM " + tableName;
+        this.selectByIdSql = selectAllSql + " WHERE " + columns[idIndex] + " = ?";
+        this.deleteSql = "DELETE FROM " + tableName + " WHERE " + columns[idIndex] + " = ?";
+    }
+
+    public String tableName() {
+        return tableName;
+    }
+
+    public String insertSql() {
+        return insertSql;
+    }
+
+    public String updateSql() {
+        return updateSql;
+    }
+
+    public String selectAllSql() {
+        return selectAllSql;
+    }
+
+    public String selectByIdSql() {
+        return selectByIdSql;
+    }
+
+    public String deleteSql() {
+        return deleteSql;
+    }
+
+    /**
+     * Binds all columns in declaration order, matching {@link #insertSql()}.
+     */
+    public void bindInsert(PreparedStatement pstmt, T entity) throws Exception {
+        for (int i = 0; i < columns.length; i++) {
+            pstmt.setObject(i + 1, read(i, entity));
+        }
+    }
+
+    /**
+     * Binds all non-id columns followed by the id, matching {@link #updateSql()}.
+     */
+    public void bindUpdate(PreparedStatement pstmt, T entity) throws Exception {
+        int index = 1;
+        for (int i = 0; i < columns.length; i++) {
+            if (i != idIndex) {
+                pstmt.setObject(index++, read(i, entity));
+            }
+        }
+        pstmt.setObject(index, read(idIndex, entity));
+    }
+
+    /**
+     * Reads the id column of the entity.
+     */
+    public String idOf(T entity) throws Exception {
+        Object id = read(idIndex, entity);
+        return id != null ? id.toString() : null;
+    }
+
+    /**
+     * Maps the current row of a result set produced by {@link #selectAllSql()} or {@link #selectByIdSql()}.
+     */
+    @SuppressWarnings("unchecked")
+    public T map(ResultSet rs) throws Exception {
+        if (rowMapper != null) {
+            return rowMapper.map(rs);
+        }
+        try {
+            Object instance = constructor.invokeExact();
+            for (int i = 0; i < setters.length; i++) {
+                setters[i].invokeExact(instance, rs.getObject(i + 1));
+            }
+            return (T) instance;
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Maps the current row of any result set that contains the entity's columns, looking each column up
+     * by name. Slower than {@link #map(ResultSet)}, which relies on the column order of the generated SQL.
+     */
+    @SuppressWarnings("unchecked")
+    public T mapByName(ResultSet rs) throws Exception {
+        int[] indexes = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            indexes[i] = rs.findColumn(columns[i]);
+        }
+        try {
+            Object instance = constructor.invokeExact();
+            for (int i = 0; i < setters.length; i++) {
+                setters[i].invokeExact(instance, rs.getObject(indexes[i]));
+            }
+            return (T) instance;
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    private Object read(int index, T entity) throws Exception {
+        try {
+            return getters[index].invokeExact((Object) entity);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    private static Map<Class<?>, RowMapper<?>> loadRowMappers() {
+        Map<Class<?>, RowMapper<?>> mappers = new HashMap<>();
+        for (RowMapper<?> mapper : ServiceLoader.load(RowMapper.class)) {
+            mappers.put(mapper.type(), mapper);
+        }
+        return mappers;
+    }
+}
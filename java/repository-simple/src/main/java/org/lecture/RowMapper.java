@@ -0,0 +1,21 @@
+package org.lecture;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps a row selected with {@link EntityMetadata#selectAllSql()} to an entity by column index.
+ * Implementations are generated at compile time for every @Entity class and registered
+ * as services, so {@link EntityMetadata} picks them up without reflection.
+ */
+public interface RowMapper<T> {
+
+    Class<T> type();
+
+    /**
+     * The mapped columns in the order the mapper reads them.
+     */
+    String[] columns();
+
+    T map(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,153 @@
+package org.lecture;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection pool for a file based SQLite database in WAL mode: one writer connection, since SQLite only
+ * allows one writer at a time anyway, and a fixed number of query-only reader connections that read
+ * concurrently with the writer. Every connection has its own statement cache.
+ */
+public class SqliteConnectionPool implements ConnectionProvider {
+
+    private static final int BUSY_TIMEOUT_MS = 5000;
+    private static final long ACQUIRE_TIMEOUT_MS = 30_000;
+
+    private final PooledConnection writer;
+    private final Semaphore writerPermit = new Semaphore(1, true);
+    private final BlockingQueue<PooledConnection> readers;
+    private final List<PooledConnection> all = new ArrayList<>();
+    private final ThreadLocal<PooledConnection> transaction = new ThreadLocal<>();
+
+    /**
+     * @param readerCount        number of reader connections, 0 sends reads to the writer
+     * @param statementCacheSize prepared statements cached per connection, 0 disables the cache
+     */
+    public SqliteConnectionPool(String url, int readerCount, int statementCacheSize) throws SQLException {
+        try {
+            this.writer = open(url, statementCacheSize,
+                    "PRAGMA journal_mode = WAL",
+                    "PRAGMA synchronous = NORMAL",
+                    "PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS);
+            this.readers = readerCount > 0 ? new ArrayBlockingQueue<>(readerCount) : null;
+            for (int i = 0; i < readerCount; i++) {
+                readers.add(open(url, statementCacheSize,
+                        "PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS,
+                        "PRAGMA query_only = true"));
+            }
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public ConnectionLease acquire(boolean readOnly) throws SQLException {
+        PooledConnection current = transaction.get();
+        if (current != null) {
+            return current.lease(null);
+        }
+        if (readOnly && readers != null) {
+            PooledConnection reader = poll();
+            return reader.lease(() -> readers.add(reader));
+        }
+        acquireWriter();
+        return writer.lease(writerPermit::release);
+    }
+
+    @Override
+    public <R> R inTransaction(Callable<R> work) throws Exception {
+        if (transaction.get() != null) {
+            return work.call();
+        }
+        acquireWriter();
+        transaction.set(writer);
+        try {
+            return ConnectionProvider.runInTransaction(writer.connection(), work);
+        } finally {
+            transaction.remove();
+            writerPermit.release();
+        }
+    }
+
+    public long getStatementCacheHits() {
+        return all.stream().filter(c -> c.statements() != null).mapToLong(c -> c.statements().getHits()).sum();
+    }
+
+    public long getStatementCacheMisses() {
+        return all.stream().filter(c -> c.statements() != null).mapToLong(c -> c.statements().getMisses()).sum();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        SQLException failure = null;
+        for (PooledConnection pooled : all) {
+            if (pooled.statements() != null) {
+                pooled.statements().close();
+            }
+            try {
+                pooled.connection().close();
+            } catch (SQLException e) {
+                failure = e;
+            }
+        }
+        all.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private PooledConnection open(String url, int statementCacheSize, String... pragmas) throws SQLException {
+        Connection con = DriverManager.getConnection(url);
+        PooledConnection pooled = new PooledConnection(con,
+                statementCacheSize > 0 ? new StatementCache(con, statementCacheSize) : null);
+        all.add(pooled);
+        try (Statement stmt = con.createStatement()) {
+            for (String pragma : pragmas) {
+                stmt.execute(pragma);
+            }
+        }
+        return pooled;
+    }
+
+    private void acquireWriter() throws SQLException {
+        try {
+            if (!writerPermit.tryAcquire(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out waiting for the writer connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the writer connection", e);
+        }
+    }
+
+    private PooledConnection poll() throws SQLException {
+        try {
+            PooledConnection reader = readers.poll(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (reader == null) {
+                throw new SQLTimeoutException("Timed out waiting for a reader connection");
+            }
+            return reader;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a reader connection", e);
+        }
+    }
+
+    private record PooledConnection(Connection connection, StatementCache statements) {
+
+        ConnectionLease lease(Runnable onClose) {
+            return new ConnectionLease(connection, statements, onClose);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.lecture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The checks of {@link ConcurrencyStress} as assertions, sized to run with the regular tests.
+ * Tagged "stress" so they can be excluded where threads are scarce.
+ */
+@Tag("stress")
+class AccountRepositoryConcurrencyTest {
+
+    private static final int SEED_ROWS = 1_000;
+    private static final int WRITER_THREADS = 4;
+    private static final int ROWS_PER_WRITER = 100;
+    private static final int READER_THREADS = 4;
+    private static final long READ_PHASE_MS = 500;
+
+    private Path databaseFile;
+    private AccountRepository repo;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        databaseFile = Files.createTempFile("accounts-test-", ".db");
+        repo = new AccountRepository("jdbc:sqlite:" + databaseFile);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repo.close();
+        Files.deleteIfExists(databaseFile);
+        Files.deleteIfExists(Path.of(databaseFile + "-wal"));
+        Files.deleteIfExists(Path.of(databaseFile + "-shm"));
+    }
+
+    @Test
+    void concurrentWritesLoseNoRows() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITER_THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < WRITER_THREADS; t++) {
+                String username = "writer" + t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < ROWS_PER_WRITER; i += 2) {
+                        repo.create(account(UUID.randomUUID().toString(), username));
+                        repo.inTransaction(() -> {
+                            Account account = account(UUID.randomUUID().toString(), username);
+                            repo.create(account);
+                            assertNotNull(repo.get(account.id), "unit of work cannot read its own insert");
+                            return null;
+                        });
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals((long) WRITER_THREADS * ROWS_PER_WRITER, count());
+    }
+
+    @Test
+    void failedUnitOfWorkIsRolledBack() throws Exception {
+        String id = UUID.randomUUID().toString();
+
+        assertThrows(IllegalStateException.class, () -> repo.inTransaction(() -> {
+            repo.create(account(id, "rolled back"));
+            throw new IllegalStateException("abort");
+        }));
+
+        assertNull(repo.get(id));
+        // the writer is free again after the rollback
+        repo.create(account(id, "after rollback"));
+        assertEquals("after rollback", repo.get(id).username);
+    }
+
+    @Test
+    void readersSeeTheirRowsWhileAWriterUpdates() throws Exception {
+        List<Account> accounts = new ArrayList<>(SEED_ROWS);
+        String[] ids = new String[SEED_ROWS];
+        for (int i = 0; i < SEED_ROWS; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            accounts.add(account(ids[i], "user" + i));
+        }
+        repo.createAll(accounts);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(READER_THREADS + 1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> {
+                while (running.get()) {
+                    repo.update(account(ids[ThreadLocalRandom.current().nextInt(ids.length)], "updated"));
+                    writes.incrementAndGet();
+                }
+                return null;
+            }));
+            for (int t = 0; t < READER_THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    while (running.get()) {
+                        String id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+                        Account account = repo.get(id);
+                        assertNotNull(account, "read of " + id + " returned nothing");
+                        assertEquals(id, account.id);
+                        reads.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            Thread.sleep(READ_PHASE_MS);
+            running.set(false);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(reads.get() > 0, "the readers made no progress");
+        assertTrue(writes.get() > 0, "the writer made no progress next to the readers");
+        assertEquals(SEED_ROWS, count());
+    }
+
+    private long count() throws Exception {
+        try (Stream<Account> accounts = repo.stream()) {
+            return accounts.count();
+        }
+    }
+
+    private static Account account(String id, String username) {
+        return new Account(id, username, "secret", username.replace(' ', '.') + "@test.com",
+                String.valueOf(System.currentTimeMillis()));
+    }
+}
@@ -0,0 +1,228 @@
+package org.lecture;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingRepositoryTest {
+
+    @Test
+    void getIsServedFromTheCacheAfterTheFirstLoad() throws Exception {
+        InMemoryRepository delegate = new InMemoryRepository();
+        delegate.rows.put("1", account("1", "alice"));
+        CachingRepository<Account> cache = new CachingRepository<>(delegate, 100, null);
+
+        Account first = cache.get("1");
+        Account second = cache.get("1");
+
+        assertSame(first, second);
+        assertEquals(1, delegate.loads.get());
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    void createPopulatesTheCache() throws Exception {
+        InMemoryRepository delegate = new InMemoryRepository();
+        CachingRepository<Account> cache = new CachingRepository<>(delegate, 100, null);
+        Account account = account("1", "alice");
+
+        cache.create(account);
+
+        assertSame(account, cache.get("1"));
+        assertEquals(0, delegate.loads.get());
+    }
+
+    @Test
+    void updateInvalidatesTheId() throws Exception {
+        InMemoryRepository delegate = new InMemoryRepository();
+        delegate.rows.put("1", account("1", "alice"));
+        CachingRepository<Account> cache = new CachingRepository<>(delegate, 100, null);
+        cache.get("1");
+
+        cache.update(account("1", "bob"));
+
+        assertEquals("bob", cache.get("1").username);
+        assertEquals(2, delegate.loads.get());
+    }
+
+    @Test
+    void deleteInvalidatesTheId() throws Exception {
+        InMemoryRepository delegate = new InMemoryRepository();
+        delegate.rows.put("1", account("1", "alice"));
+        CachingRepository<Account> cache = new CachingRepository<>(delegate, 100, null);
+        cache.get("1");
+
+        cache.delete("1");
+
+        assertNull(cache.get("1"));
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void expiredEntriesAreLoadedAgain() throws Exception {
+        InMemoryRepository delegate = new InMemoryRepository();
+        delegate.rows.put("1", account("1", "alice"));
+        CachingRepository<Account> cache = new CachingRepository<>(delegate, 100, Duration.ofMillis(20));
+        cache.get("1");
+
+        Thread.sleep(50);
+        cache.get("1");
+
+        assertEquals(2, delegate.loads.get());
+        assertEquals(1, cache.stats().expirations());
+    }
+
+    @Test
+    void sizeStaysWithinMaxSize() throws Exception {
+        InMemoryRepository delegate = new InMemoryRepository();
+        for (int i = 0; i < 100; i++) {
+            delegate.rows.put(String.valueOf(i), account(String.valueOf(i), "user" + i));
+        }
+        CachingRepository<Account> cache = new CachingRepository<>(delegate, 10, null);
+
+        for (int i = 0; i < 100; i++) {
+            cache.get(String.valueOf(i));
+        }
+
+        CachingRepository.CacheStats stats = cache.stats();
+        assertTrue(stats.size() <= 10, "cache holds " + stats.size() + " entries");
+        assertEquals(100 - stats.size(), stats.evictions());
+    }
+
+    @Test
+    void loadRacingAnUpdateIsNotCached() throws Exception {
+        InMemoryRepository delegate = new InMemoryRepository();
+        delegate.rows.put("1", account("1", "alice"));
+        CachingRepository<Account> cache = new CachingRepository<>(delegate, 100, null);
+        delegate.loadStarted = new CountDownLatch(1);
+        delegate.finishLoad = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // the load reads alice, then the update commits bob before the load puts its result
+            Future<Account> staleLoad = executor.submit(() -> cache.get("1"));
+            assertTrue(delegate.loadStarted.await(5, TimeUnit.SECONDS));
+            cache.update(account("1", "bob"));
+            delegate.finishLoad.countDown();
+
+            assertEquals("alice", staleLoad.get(5, TimeUnit.SECONDS).username);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals("bob", cache.get("1").username);
+    }
+
+    @Test
+    void createRacingAnUpdateIsNotCached() throws Exception {
+        InMemoryRepository delegate = new InMemoryRepository();
+        CachingRepository<Account> cache = new CachingRepository<>(delegate, 100, null);
+        delegate.createStarted = new CountDownLatch(1);
+        delegate.finishCreate = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // the insert of alice is done, then the update to bob runs before the create puts alice
+            Future<?> create = executor.submit(() -> {
+                cache.create(account("1", "alice"));
+                return null;
+            });
+            assertTrue(delegate.createStarted.await(5, TimeUnit.SECONDS));
+            cache.update(account("1", "bob"));
+            delegate.finishCreate.countDown();
+            create.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals("bob", cache.get("1").username);
+    }
+
+    @Test
+    void writesInsideAUnitOfWorkAreNotCached() throws Exception {
+        InMemoryRepository delegate = new InMemoryRepository();
+        CachingRepository<Account> cache = new CachingRepository<>(delegate, 100, null);
+
+        assertThrows(IllegalStateException.class, () -> cache.inTransaction(() -> {
+            cache.create(account("1", "alice"));
+            throw new IllegalStateException("abort");
+        }));
+
+        assertEquals(0, cache.stats().size());
+    }
+
+    private static Account account(String id, String username) {
+        return new Account(id, username, "secret", username + "@test.com", "0");
+    }
+
+    /**
+     * Stores rows in a map and counts the loads; a load can be held between reading the row and returning
+     * it, a create after inserting the row.
+     */
+    private static final class InMemoryRepository implements AbstractRepository<Account> {
+
+        final Map<String, Account> rows = new ConcurrentHashMap<>();
+        final AtomicInteger loads = new AtomicInteger();
+        volatile CountDownLatch loadStarted;
+        volatile CountDownLatch finishLoad;
+        volatile CountDownLatch createStarted;
+        volatile CountDownLatch finishCreate;
+
+        @Override
+        public ConnectionProvider connectionProvider() {
+            throw new UnsupportedOperationException("in memory");
+        }
+
+        @Override
+        public Class<Account> getClassType() {
+            return Account.class;
+        }
+
+        @Override
+        public Account get(String id) throws Exception {
+            loads.incrementAndGet();
+            Account account = rows.get(id);
+            if (loadStarted != null) {
+                loadStarted.countDown();
+                assertTrue(finishLoad.await(5, TimeUnit.SECONDS));
+            }
+            return account;
+        }
+
+        @Override
+        public void create(Account account) throws Exception {
+            rows.put(account.id, account);
+            if (createStarted != null) {
+                createStarted.countDown();
+                assertTrue(finishCreate.await(5, TimeUnit.SECONDS));
+            }
+        }
+
+        @Override
+        public void update(Account account) {
+            rows.put(account.id, account);
+        }
+
+        @Override
+        public void delete(String id) {
+            rows.remove(id);
+        }
+
+        @Override
+        public <R> R inTransaction(Callable<R> work) throws Exception {
+            return work.call();
+        }
+    }
+}
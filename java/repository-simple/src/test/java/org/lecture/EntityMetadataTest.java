@@ -0,0 +1,31 @@
+package org.lecture;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityMetadataTest {
+
+    @Test
+    void mapByNameReadsColumnsInAnyOrder() throws Exception {
+        try (Connection con = DriverManager.getConnection("jdbc:sqlite::memory:");
+             Statement stmt = con.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT 'now' AS created_on, 'a@test.com' AS email, "
+                     + "'secret' AS password, 'alice' AS username, '1' AS id")) {
+            assertTrue(rs.next());
+
+            Account account = EntityMetadata.of(Account.class).mapByName(rs);
+
+            assertEquals("1", account.id);
+            assertEquals("alice", account.username);
+            assertEquals("secret", account.password);
+            assertEquals("a@test.com", account.email);
+            assertEquals("now", account.created_on);
+        }
+    }
+}
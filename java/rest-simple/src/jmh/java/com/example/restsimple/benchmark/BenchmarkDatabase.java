@@ -0,0 +1,150 @@
+package com.example.restsimple.benchmark;
+
+import com.example.restsimple.DemoApplication;
+import com.example.restsimple.adapter.out.dto.StudentJpaEntity;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * File-backed SQLite database for the benchmarks. Each row count is seeded once into a template
+ * under build/jmh and copied for every trial, so mutating benchmarks always start from the same state.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    private static final Path TEMPLATE_DIR = Path.of("build", "jmh", "db");
+    private static final int SEED_BATCH_SIZE = 10_000;
+    private static final int SAMPLE_SIZE = 1024;
+
+    private final Path databaseFile;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkDatabase(Path databaseFile, ConfigurableApplicationContext context) {
+        this.databaseFile = databaseFile;
+        this.context = context;
+    }
+
+    static BenchmarkDatabase start(int rows) throws IOException, SQLException {
+        Path template = seededTemplate(rows);
+        Path databaseFile = Files.createTempFile("students-bench-" + rows + "-", ".db");
+        Files.copy(template, databaseFile, StandardCopyOption.REPLACE_EXISTING);
+
+        // Command line arguments, so they win over application.properties
+        ConfigurableApplicationContext context = SpringApplication.run(DemoApplication.class,
+                "--spring.datasource.url=" + jdbcUrl(databaseFile),
+                "--server.port=0",
+                "--app.students.max-active=" + Integer.MAX_VALUE,
+                "--app.logging.detailed-request-logging=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.file.name=",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.restsimple=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--logging.level.org.springframework.transaction=WARN");
+        return new BenchmarkDatabase(databaseFile, context);
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Returns ids of randomly chosen existing students, used as lookup and update targets.
+     */
+    String[] sampleIds(int rows) throws SQLException {
+        String[] ids = new String[SAMPLE_SIZE];
+        try (Connection connection = DriverManager.getConnection(jdbcUrl(databaseFile));
+             PreparedStatement statement = connection.prepareStatement("SELECT id FROM student WHERE mnr = ?")) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int found = 0;
+            while (found < SAMPLE_SIZE) {
+                statement.setLong(1, random.nextLong(1, rows + 1L));
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        ids[found++] = resultSet.getString(1);
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Encodes a number as letters only, so generated names pass the service's name validation.
+     * Pads to at least two letters ("Aa", "Ba", ..., "Ab") to satisfy the minimum name length.
+     */
+    static String letters(long value) {
+        StringBuilder builder = new StringBuilder();
+        do {
+            builder.append((char) ('a' + value % 26));
+            value /= 26;
+        } while (value > 0 || builder.length() < 2);
+        builder.setCharAt(0, Character.toUpperCase(builder.charAt(0)));
+        return builder.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        Files.deleteIfExists(databaseFile);
+        Files.deleteIfExists(Path.of(databaseFile + "-wal"));
+        Files.deleteIfExists(Path.of(databaseFile + "-shm"));
+    }
+
+    private static Path seededTemplate(int rows) throws IOException, SQLException {
+        Path template = TEMPLATE_DIR.resolve("students-" + rows + ".db");
+        if (Files.exists(template)) {
+            return template;
+        }
+        Files.createDirectories(TEMPLATE_DIR);
+        Path partial = TEMPLATE_DIR.resolve("students-" + rows + ".db.partial");
+        Files.deleteIfExists(partial);
+
+        Flyway.configure()
+                .dataSource(jdbcUrl(partial), null, null)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl(partial));
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO student (id, name, last_name, created_on, name_key) VALUES (?, ?, ?, ?, ?)")) {
+            connection.setAutoCommit(false);
+            long createdOn = System.currentTimeMillis();
+            for (int i = 0; i < rows; i++) {
+                String lastName = letters(i);
+                statement.setString(1, UUID.randomUUID().toString());
+                statement.setString(2, "Seed");
+                statement.setString(3, lastName);
+                statement.setLong(4, createdOn);
+                statement.setString(5, StudentJpaEntity.nameKey("Seed", lastName));
+                statement.addBatch();
+                if ((i + 1) % SEED_BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+            connection.commit();
+        }
+
+        Files.move(partial, template, StandardCopyOption.ATOMIC_MOVE);
+        return template;
+    }
+
+    private static String jdbcUrl(Path file) {
+        return "jdbc:sqlite:" + file.toAbsolutePath();
+    }
+}
\ No newline at end of file
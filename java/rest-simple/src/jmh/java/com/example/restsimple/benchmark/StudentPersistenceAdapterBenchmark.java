@@ -0,0 +1,79 @@
+package com.example.restsimple.benchmark;
+
+import com.example.restsimple.adapter.out.persistence.StudentPersistenceAdapter;
+import com.example.restsimple.domain.model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class StudentPersistenceAdapterBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private BenchmarkDatabase database;
+    private StudentPersistenceAdapter adapter;
+    private String[] ids;
+    private int nextId;
+    private long nextName;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start(rows);
+        adapter = database.getBean(StudentPersistenceAdapter.class);
+        ids = database.sampleIds(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public Optional<Student> updateStudentNames() {
+        return adapter.updateStudentNames(ids[nextId++ & (ids.length - 1)], "Updated", BenchmarkDatabase.letters(nextName++));
+    }
+
+    @Benchmark
+    public Optional<Student> deleteStudentAndReturn(DeleteTarget target) {
+        return adapter.deleteStudentAndReturn(target.id);
+    }
+
+    @State(Scope.Thread)
+    public static class DeleteTarget {
+
+        private String id;
+
+        /**
+         * Inserts the row deleted by the next invocation, so the table size stays constant
+         * and the insert is kept out of the measurement.
+         */
+        @Setup(Level.Invocation)
+        public void insert(StudentPersistenceAdapterBenchmark benchmark) {
+            id = UUID.randomUUID().toString();
+            benchmark.adapter.saveStudent(new Student(id, null, "Delete",
+                    BenchmarkDatabase.letters(benchmark.nextName++), LocalDateTime.now()));
+        }
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.restsimple.adapter.in.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.util.List;
@@ -9,10 +10,19 @@ public class StudentsListResponse {
     @Schema(description = "List of students", example = "[{\"id\":\"550e8400-e29b-41d4-a716-446655440000\",\"mnr\":\"MNR001\",\"name\":\"John\",\"lastName\":\"Doe\",\"createdOn\":\"2023-01-01T12:00:00\"}]")
     private List<StudentResponse> students;
 
+    @Schema(description = "Opaque cursor for the next page, passed back as 'after'. Absent on the last page.")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
     public StudentsListResponse(List<StudentResponse> students) {
         this.students = students;
     }
 
+    public StudentsListResponse(List<StudentResponse> students, String nextCursor) {
+        this.students = students;
+        this.nextCursor = nextCursor;
+    }
+
     public List<StudentResponse> getStudents() {
         return students;
     }
@@ -20,4 +30,12 @@ public class StudentsListResponse {
     public void setStudents(List<StudentResponse> students) {
         this.students = students;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.example.restsimple.adapter.in.dto.*;
 import com.example.restsimple.application.port.in.LoginUseCase;
 import com.example.restsimple.application.port.in.RefreshTokenUseCase;
 import com.example.restsimple.application.port.in.RegisterAdminUseCase;
+import com.example.restsimple.domain.exception.ServiceOverloadedException;
 import com.example.restsimple.domain.model.Admin;
 import com.example.restsimple.response.ErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,6 +12,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -41,7 +43,8 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Admin successfully registered"),
             @ApiResponse(responseCode = "400", description = "Invalid input data"),
-            @ApiResponse(responseCode = "409", description = "Username or email already exists")
+            @ApiResponse(responseCode = "409", description = "Username or email already exists"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent password hashing requests")
     })
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
         try {
@@ -59,13 +62,18 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Login successful"),
             @ApiResponse(responseCode = "401", description = "Invalid credentials"),
-            @ApiResponse(responseCode = "400", description = "Invalid input data")
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent login attempts")
     })
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
         try {
             var loginResponse = loginUseCase.login(request.toCommand());
             AuthResponse response = AuthResponse.fromLoginResponse(loginResponse);
             return ResponseEntity.ok(response);
+        } catch (ServiceOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(new ErrorResponse("Login failed", "Too many login attempts, try again later"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ErrorResponse("Login failed", "Invalid username or password"));
@@ -10,7 +10,12 @@ import com.example.restsimple.application.port.in.GetStudentUseCase;
 import com.example.restsimple.application.port.in.UpdateStudentUseCase;
 import com.example.restsimple.domain.model.Student;
 import com.example.restsimple.response.ErrorResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -18,29 +23,47 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 @RestController
 public class StudentController {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentController.class);
+    private static final String CURSOR_PREFIX = "mnr:";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int EXPORT_BUFFER_SIZE = 8192;
 
     private final CreateStudentUseCase createStudentUseCase;
     private final GetStudentUseCase getStudentUseCase;
     private final UpdateStudentUseCase updateStudentUseCase;
     private final DeleteStudentUseCase deleteStudentUseCase;
+    private final ObjectWriter exportWriter;
 
     public StudentController(CreateStudentUseCase createStudentUseCase,
                            GetStudentUseCase getStudentUseCase,
                            UpdateStudentUseCase updateStudentUseCase,
-                           DeleteStudentUseCase deleteStudentUseCase) {
+                           DeleteStudentUseCase deleteStudentUseCase,
+                           ObjectMapper objectMapper) {
         this.createStudentUseCase = createStudentUseCase;
         this.getStudentUseCase = getStudentUseCase;
         this.updateStudentUseCase = updateStudentUseCase;
         this.deleteStudentUseCase = deleteStudentUseCase;
+        // one JSON document per line, written into a shared buffer that is flushed by the export itself
+        this.exportWriter = objectMapper.writerFor(StudentResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     @GetMapping("/healthz")
@@ -50,11 +73,22 @@ public class StudentController {
     }
 
     @GetMapping("/students")
-    @Operation(responses = {
+    @Operation(description = "Returns all students. When 'limit' or 'after' is given, returns one page ordered by "
+            + "student number together with a 'nextCursor' for the following page (page size is capped at 100).",
+            responses = {
             @ApiResponse(responseCode = "200", description = "Successfully got all students",
                     content = @Content(schema = @Schema(implementation = StudentsListResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid limit or cursor",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public StudentsListResponse getAllStudents() {
+    public StudentsListResponse getAllStudents(
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor returned as 'nextCursor' by the previous page") @RequestParam(required = false) String after) {
+        if (limit != null || after != null) {
+            return getStudentsPage(limit != null ? limit : DEFAULT_PAGE_SIZE, after);
+        }
+        
         logger.info("GET /students - Retrieving all students");
         
         List<Student> students = getStudentUseCase.getAllStudents();
@@ -66,6 +100,72 @@ public class StudentController {
         return new StudentsListResponse(studentResponses);
     }
 
+    private StudentsListResponse getStudentsPage(int limit, String after) {
+        logger.info("GET /students - Retrieving page of {} students after cursor {}", limit, after);
+        
+        long afterMnr = after != null ? decodeCursor(after) : 0;
+        GetStudentUseCase.StudentPage page = getStudentUseCase.getStudentsAfter(afterMnr, limit);
+        List<StudentResponse> studentResponses = page.students().stream()
+                .map(StudentResponse::fromDomain)
+                .toList();
+        String nextCursor = page.nextAfterMnr() != null ? encodeCursor(page.nextAfterMnr()) : null;
+        
+        logger.info("GET /students - Successfully returned page of {} students", studentResponses.size());
+        return new StudentsListResponse(studentResponses, nextCursor);
+    }
+
+    private static String encodeCursor(long mnr) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + mnr).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through, NumberFormatException is an IllegalArgumentException as well
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+
+    @GetMapping("/students/export")
+    @Operation(description = "Streams all students ordered by student number as newline-delimited JSON.",
+            responses = {
+            @ApiResponse(responseCode = "200", description = "Successfully streamed all students",
+                    content = @Content(mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = StudentResponse.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportStudents() {
+        logger.info("GET /students/export - Streaming all students");
+        
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, EXPORT_BUFFER_SIZE);
+            try {
+                getStudentUseCase.exportStudents(student -> writeExportLine(out, student));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+            logger.info("GET /students/export - Successfully streamed all students");
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writeExportLine(OutputStream out, Student student) {
+        try {
+            exportWriter.writeValue(out, StudentResponse.fromDomain(student));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @PostMapping("/students")
     @Operation(responses = {
             @ApiResponse(responseCode = "201", description = "Successfully created student",
@@ -4,7 +4,11 @@ import com.example.restsimple.converter.LocalDateTimeAttributeConverter;
 import com.example.restsimple.domain.model.RefreshToken;
 import jakarta.persistence.*;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Objects;
 
 @Entity
@@ -15,8 +19,10 @@ public class RefreshTokenJpaEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "token", nullable = false, unique = true, length = 512)
-    private String token;
+    // SHA-256 of the token, the raw token is never stored. Uniqueness is enforced by the
+    // single unique index from V6, not declared here so Hibernate does not add a second one.
+    @Column(name = "token_hash", nullable = false, columnDefinition = "BLOB")
+    private byte[] tokenHash;
 
     @Column(name = "admin_id", nullable = false)
     private Long adminId;
@@ -34,9 +40,9 @@ public class RefreshTokenJpaEntity {
 
     public RefreshTokenJpaEntity() {}
 
-    public RefreshTokenJpaEntity(Long id, String token, Long adminId, LocalDateTime expiresAt, LocalDateTime createdAt, boolean revoked) {
+    public RefreshTokenJpaEntity(Long id, byte[] tokenHash, Long adminId, LocalDateTime expiresAt, LocalDateTime createdAt, boolean revoked) {
         this.id = id;
-        this.token = token;
+        this.tokenHash = tokenHash;
         this.adminId = adminId;
         this.expiresAt = expiresAt;
         this.createdAt = createdAt;
@@ -46,7 +52,7 @@ public class RefreshTokenJpaEntity {
     public static RefreshTokenJpaEntity fromDomain(RefreshToken refreshToken) {
         return new RefreshTokenJpaEntity(
                 refreshToken.getId(),
-                refreshToken.getToken(),
+                hash(refreshToken.getToken()),
                 refreshToken.getAdminId(),
                 refreshToken.getExpiresAt(),
                 refreshToken.getCreatedAt(),
@@ -54,10 +60,21 @@ public class RefreshTokenJpaEntity {
         );
     }
 
-    public RefreshToken toDomain() {
+    /**
+     * The row only holds the token's hash, so the caller passes the token it looked up or saved.
+     */
+    public RefreshToken toDomain(String token) {
         return new RefreshToken(id, token, adminId, expiresAt, createdAt, revoked);
     }
 
+    public static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     public Long getId() {
         return id;
     }
@@ -66,12 +83,12 @@ public class RefreshTokenJpaEntity {
         this.id = id;
     }
 
-    public String getToken() {
-        return token;
+    public byte[] getTokenHash() {
+        return tokenHash;
     }
 
-    public void setToken(String token) {
-        this.token = token;
+    public void setTokenHash(byte[] tokenHash) {
+        this.tokenHash = tokenHash;
     }
 
     public Long getAdminId() {
@@ -113,7 +130,7 @@ public class RefreshTokenJpaEntity {
         RefreshTokenJpaEntity that = (RefreshTokenJpaEntity) o;
         return revoked == that.revoked &&
                 Objects.equals(id, that.id) &&
-                Objects.equals(token, that.token) &&
+                Arrays.equals(tokenHash, that.tokenHash) &&
                 Objects.equals(adminId, that.adminId) &&
                 Objects.equals(expiresAt, that.expiresAt) &&
                 Objects.equals(createdAt, that.createdAt);
@@ -121,6 +138,6 @@ public class RefreshTokenJpaEntity {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, token, adminId, expiresAt, createdAt, revoked);
+        return 31 * Objects.hash(id, adminId, expiresAt, createdAt, revoked) + Arrays.hashCode(tokenHash);
     }
 }
\ No newline at end of file
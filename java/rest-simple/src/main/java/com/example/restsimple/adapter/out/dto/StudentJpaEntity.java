@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Entity
 @Table(name = "student")
@@ -34,6 +35,11 @@ public class StudentJpaEntity {
     @Convert(converter = LocalDateTimeAttributeConverter.class)
     private LocalDateTime createdOn;
 
+    // Uniqueness is enforced by idx_student_name_key from V4, not declared here so Hibernate
+    // does not add a second unique index next to it.
+    @Column(name = "name_key")
+    private String nameKey;
+
     public StudentJpaEntity() {}
 
     public StudentJpaEntity(String id, String name, String lastName, LocalDateTime createdOn) {
@@ -41,6 +47,14 @@ public class StudentJpaEntity {
         this.name = name;
         this.lastName = lastName;
         this.createdOn = createdOn;
+        this.nameKey = nameKey(name, lastName);
+    }
+
+    /**
+     * Builds the normalized (trimmed, case-folded) key that backs the unique name index.
+     */
+    public static String nameKey(String name, String lastName) {
+        return name.trim().toLowerCase(Locale.ROOT) + "|" + lastName.trim().toLowerCase(Locale.ROOT);
     }
 
     public static StudentJpaEntity fromDomain(Student student) {
@@ -53,6 +67,7 @@ public class StudentJpaEntity {
         entity.name = student.getName();
         entity.lastName = student.getLastName();
         entity.createdOn = student.getCreatedOn();
+        entity.nameKey = nameKey(student.getName(), student.getLastName());
         return entity;
     }
 
@@ -100,4 +115,12 @@ public class StudentJpaEntity {
     public void setCreatedOn(LocalDateTime createdOn) {
         this.createdOn = createdOn;
     }
+
+    public String getNameKey() {
+        return nameKey;
+    }
+
+    public void setNameKey(String nameKey) {
+        this.nameKey = nameKey;
+    }
 }
\ No newline at end of file
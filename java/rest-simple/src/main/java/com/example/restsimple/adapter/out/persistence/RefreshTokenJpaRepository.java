@@ -4,15 +4,31 @@ import com.example.restsimple.adapter.out.dto.RefreshTokenJpaEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenJpaRepository extends JpaRepository<RefreshTokenJpaEntity, Long> {
-    Optional<RefreshTokenJpaEntity> findByToken(String token);
+    Optional<RefreshTokenJpaEntity> findByTokenHash(byte[] tokenHash);
 
     @Modifying
     @Query("UPDATE RefreshTokenJpaEntity r SET r.revoked = true WHERE r.adminId = :adminId AND r.revoked = false")
     void revokeAllByAdminId(Long adminId);
+
+    // Purge batches, each in its own short transaction so the single SQLite writer is released between them.
+    // expires_at holds epoch millis with TEXT affinity, all 13 digits wide, so text order is time order
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM refresh_token WHERE id IN "
+            + "(SELECT id FROM refresh_token WHERE expires_at < :nowEpochMillis LIMIT :limit)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("nowEpochMillis") long nowEpochMillis, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM refresh_token WHERE id IN "
+            + "(SELECT id FROM refresh_token WHERE revoked = 1 LIMIT :limit)", nativeQuery = true)
+    int deleteRevokedBatch(@Param("limit") int limit);
 }
\ No newline at end of file
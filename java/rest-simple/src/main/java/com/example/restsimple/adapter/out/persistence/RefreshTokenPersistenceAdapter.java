@@ -19,8 +19,8 @@ public class RefreshTokenPersistenceAdapter implements LoadRefreshTokenPort, Sav
 
     @Override
     public Optional<RefreshToken> loadByToken(String token) {
-        return refreshTokenRepository.findByToken(token)
-                .map(RefreshTokenJpaEntity::toDomain);
+        return refreshTokenRepository.findByTokenHash(RefreshTokenJpaEntity.hash(token))
+                .map(entity -> entity.toDomain(token));
     }
 
     @Override
@@ -32,6 +32,6 @@ public class RefreshTokenPersistenceAdapter implements LoadRefreshTokenPort, Sav
     public RefreshToken save(RefreshToken refreshToken) {
         RefreshTokenJpaEntity entity = RefreshTokenJpaEntity.fromDomain(refreshToken);
         RefreshTokenJpaEntity savedEntity = refreshTokenRepository.save(entity);
-        return savedEntity.toDomain();
+        return savedEntity.toDomain(refreshToken.getToken());
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.example.restsimple.adapter.out.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Deletes expired and revoked refresh tokens, which login otherwise accumulates forever.
+ * Rows go in batches of {@code batch-size}, each batch in its own transaction with a pause in between,
+ * so request writers get the SQLite write lock between batches. A run stops after
+ * {@code max-batches-per-run} batches per kind and leaves the rest to the next run.
+ */
+@Component
+@ConditionalOnProperty(name = "app.refresh-tokens.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class RefreshTokenPurgeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenPurgeJob.class);
+
+    private final RefreshTokenJpaRepository refreshTokenRepository;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long batchPauseMs;
+    private final Counter purgedExpired;
+    private final Counter purgedRevoked;
+    private final Timer purgeDuration;
+    private final AtomicLong tableSize = new AtomicLong();
+
+    public RefreshTokenPurgeJob(RefreshTokenJpaRepository refreshTokenRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.refresh-tokens.purge.batch-size:500}") int batchSize,
+                                @Value("${app.refresh-tokens.purge.max-batches-per-run:100}") int maxBatchesPerRun,
+                                @Value("${app.refresh-tokens.purge.batch-pause-ms:50}") long batchPauseMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.batchPauseMs = batchPauseMs;
+        this.purgedExpired = purgedCounter(meterRegistry, "expired");
+        this.purgedRevoked = purgedCounter(meterRegistry, "revoked");
+        this.purgeDuration = Timer.builder("refresh_token_purge_duration")
+                .description("Duration of a refresh token purge run, including pauses between batches")
+                .register(meterRegistry);
+        Gauge.builder("refresh_token_rows", tableSize, AtomicLong::get)
+                .description("Rows in refresh_token after the last purge run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.refresh-tokens.purge.initial-delay-ms:60000}",
+               fixedDelayString = "${app.refresh-tokens.purge.interval-ms:3600000}")
+    public int purge() {
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+
+        int expired = purgeInBatches(() -> refreshTokenRepository.deleteExpiredBatch(now, batchSize), purgedExpired);
+        int revoked = purgeInBatches(() -> refreshTokenRepository.deleteRevokedBatch(batchSize), purgedRevoked);
+        long remaining = refreshTokenRepository.count();
+        tableSize.set(remaining);
+
+        purgeDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (expired > 0 || revoked > 0) {
+            logger.info("Purged {} expired and {} revoked refresh tokens, {} remaining", expired, revoked, remaining);
+        }
+        return expired + revoked;
+    }
+
+    private int purgeInBatches(IntSupplier deleteBatch, Counter purged) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int deleted = deleteBatch.getAsInt();
+            purged.increment(deleted);
+            total += deleted;
+            if (deleted < batchSize || !pauseBetweenBatches()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private boolean pauseBetweenBatches() {
+        if (batchPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Counter purgedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("refresh_tokens_purged")
+                .description("Refresh token rows deleted by the purge job")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
\ No newline at end of file
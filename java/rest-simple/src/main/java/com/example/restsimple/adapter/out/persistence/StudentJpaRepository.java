@@ -1,22 +1,55 @@
 package com.example.restsimple.adapter.out.persistence;
 
 import com.example.restsimple.adapter.out.dto.StudentJpaEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface StudentJpaRepository extends JpaRepository<StudentJpaEntity, String> {
     @Query("SELECT s FROM StudentJpaEntity s WHERE s.id = :id")
     Optional<StudentJpaEntity> findByIdColumn(@Param("id") String id);
 
+    @Query("SELECT s FROM StudentJpaEntity s WHERE s.mnr > :mnr ORDER BY s.mnr")
+    List<StudentJpaEntity> findPageAfterMnr(@Param("mnr") long mnr, Pageable pageable);
+
+    @Query("SELECT s FROM StudentJpaEntity s ORDER BY s.mnr")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<StudentJpaEntity> streamAll();
+
     @Query("DELETE FROM StudentJpaEntity s WHERE s.id = :id")
     @Modifying
-    void deleteByIdColumn(@Param("id") String id);
+    int deleteByIdColumn(@Param("id") String id);
     
-    @Query("UPDATE StudentJpaEntity s SET s.name = :name, s.lastName = :lastName WHERE s.id = :id")
+    @Query("UPDATE StudentJpaEntity s SET s.name = :name, s.lastName = :lastName, s.nameKey = :nameKey WHERE s.id = :id")
     @Modifying
-    int updateStudentNames(@Param("id") String id, @Param("name") String name, @Param("lastName") String lastName);
+    int updateStudentNames(@Param("id") String id, @Param("name") String name, @Param("lastName") String lastName,
+                           @Param("nameKey") String nameKey);
+
+    @Query("SELECT COUNT(s) > 0 FROM StudentJpaEntity s WHERE s.nameKey = :nameKey")
+    boolean existsByNameKey(@Param("nameKey") String nameKey);
+
+    // Single statement variants for SQLite 3.35+, which supports RETURNING on UPDATE and DELETE
+    @Query(value = "UPDATE student SET name = :name, last_name = :lastName, name_key = :nameKey WHERE id = :id "
+            + "RETURNING id, mnr, name, last_name, created_on, name_key", nativeQuery = true)
+    @Transactional
+    Optional<StudentJpaEntity> updateStudentNamesReturning(@Param("id") String id, @Param("name") String name,
+                                                           @Param("lastName") String lastName, @Param("nameKey") String nameKey);
+
+    @Query(value = "DELETE FROM student WHERE id = :id "
+            + "RETURNING id, mnr, name, last_name, created_on, name_key", nativeQuery = true)
+    @Transactional
+    Optional<StudentJpaEntity> deleteByIdColumnReturning(@Param("id") String id);
 }
\ No newline at end of file
@@ -5,22 +5,72 @@ import com.example.restsimple.application.port.out.DeleteStudentPort;
 import com.example.restsimple.application.port.out.LoadStudentPort;
 import com.example.restsimple.application.port.out.SaveStudentPort;
 import com.example.restsimple.domain.model.Student;
+import jakarta.persistence.EntityManager;
+import org.hibernate.community.dialect.SQLiteDialect;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 @Component
 public class StudentPersistenceAdapter implements LoadStudentPort, SaveStudentPort, DeleteStudentPort {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentPersistenceAdapter.class);
 
+    private static final long COUNT_UNKNOWN = -1;
+    private static final int MAX_RECONCILE_ATTEMPTS = 3;
+
     private final StudentJpaRepository studentJpaRepository;
+    private final EntityManager entityManager;
+    private final boolean supportsReturning;
+
+    // Maintained by creates and deletes once they commit, reconciled periodically against SELECT COUNT(*).
+    // Every change swaps in a new StudentCount, so a reconcile can tell whether anything moved while it counted.
+    private final AtomicReference<StudentCount> studentCount = new AtomicReference<>(new StudentCount(COUNT_UNKNOWN));
+
+    @Autowired
+    public StudentPersistenceAdapter(StudentJpaRepository studentJpaRepository, EntityManager entityManager) {
+        this(studentJpaRepository, entityManager, supportsReturning(entityManager));
+    }
 
-    public StudentPersistenceAdapter(StudentJpaRepository studentJpaRepository) {
+    StudentPersistenceAdapter(StudentJpaRepository studentJpaRepository, EntityManager entityManager, boolean supportsReturning) {
         this.studentJpaRepository = studentJpaRepository;
+        this.entityManager = entityManager;
+        this.supportsReturning = supportsReturning;
+        logger.info("Student mutations use {}", supportsReturning ? "UPDATE/DELETE ... RETURNING" : "separate SELECT statements");
+    }
+
+    private static boolean supportsReturning(EntityManager entityManager) {
+        Dialect dialect = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        return dialect instanceof SQLiteDialect && dialect.getVersion().isSameOrAfter(3, 35);
+    }
+
+    boolean usesReturning() {
+        return supportsReturning;
+    }
+
+    /**
+     * Rows returned by UPDATE/DELETE ... RETURNING are registered as managed entities. Detach them so a
+     * deleted row is not served from the persistence context or touched by a later flush.
+     */
+    private Student detachToDomain(StudentJpaEntity entity) {
+        entityManager.detach(entity);
+        return entity.toDomain();
     }
 
     @Override
@@ -52,14 +102,83 @@ public class StudentPersistenceAdapter implements LoadStudentPort, SaveStudentPo
         return students;
     }
 
+    @Override
+    public List<Student> loadStudentsAfter(long mnr, int limit) {
+        logger.debug("Loading up to {} students after student number {}", limit, mnr);
+        
+        List<Student> students = studentJpaRepository.findPageAfterMnr(mnr, PageRequest.ofSize(limit))
+                .stream()
+                .map(StudentJpaEntity::toDomain)
+                .toList();
+                
+        logger.debug("Successfully loaded {} students after student number {}", students.size(), mnr);
+        return students;
+    }
+
+    @Override
+    public Stream<Student> streamAllStudents() {
+        logger.debug("Streaming all students from database");
+        
+        // detach every row once mapped so the persistence context does not grow with the table
+        return studentJpaRepository.streamAll()
+                .map(entity -> {
+                    entityManager.detach(entity);
+                    return entity.toDomain();
+                });
+    }
+
+    @Override
+    public boolean existsByNormalizedName(String name, String lastName) {
+        logger.debug("Checking name key index for student: {} {}", name, lastName);
+        return studentJpaRepository.existsByNameKey(StudentJpaEntity.nameKey(name, lastName));
+    }
+
+    @Override
+    public long countStudents() {
+        long count = studentCount.get().value();
+        if (count == COUNT_UNKNOWN) {
+            count = reconcileStudentCount();
+        }
+        return count;
+    }
+
+    @Scheduled(fixedDelayString = "${app.students.count-reconcile-interval-ms:60000}")
+    public long reconcileStudentCount() {
+        for (int attempt = 1; ; attempt++) {
+            StudentCount previous = studentCount.get();
+            long count = studentJpaRepository.count();
+            // a create or delete that committed during the query may be missing from its snapshot,
+            // so only store the count if no adjustment was applied in the meantime
+            if (studentCount.compareAndSet(previous, new StudentCount(count))) {
+                if (previous.value() != COUNT_UNKNOWN && previous.value() != count) {
+                    logger.debug("Reconciled student count from {} to {}", previous.value(), count);
+                }
+                return count;
+            }
+            if (attempt == MAX_RECONCILE_ATTEMPTS) {
+                logger.debug("Student count kept changing while reconciling, leaving it to the next run");
+                return count;
+            }
+        }
+    }
+
     @Override
     public Student saveStudent(Student student) {
         logger.debug("Saving student to database: {} {} (ID: {})", 
                     student.getName(), student.getLastName(), student.getId());
         
         StudentJpaEntity entity = StudentJpaEntity.fromDomain(student);
-        StudentJpaEntity savedEntity = studentJpaRepository.save(entity);
+        StudentJpaEntity savedEntity;
+        try {
+            savedEntity = studentJpaRepository.save(entity);
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent create won the race for the unique name key
+            throw duplicateName(student.getName(), student.getLastName(), e);
+        }
         Student savedStudent = savedEntity.toDomain();
+        if (student.getMnr() == null) {
+            adjustStudentCountAfterCommit(1);
+        }
         
         logger.debug("Successfully saved student to database: {} {} (ID: {})", 
                     savedStudent.getName(), savedStudent.getLastName(), savedStudent.getId());
@@ -70,7 +189,8 @@ public class StudentPersistenceAdapter implements LoadStudentPort, SaveStudentPo
     @Override
     public void deleteStudent(String id) {
         logger.debug("Deleting student from database: {}", id);
-        studentJpaRepository.deleteByIdColumn(id);
+        int deletedRows = studentJpaRepository.deleteByIdColumn(id);
+        adjustStudentCountAfterCommit(-deletedRows);
         logger.debug("Successfully deleted student from database: {}", id);
     }
 
@@ -78,9 +198,20 @@ public class StudentPersistenceAdapter implements LoadStudentPort, SaveStudentPo
     public Optional<Student> deleteStudentAndReturn(String id) {
         logger.debug("Attempting atomic delete and return for student: {}", id);
         
-        Optional<Student> student = loadStudent(id);
+        Optional<Student> student;
+        if (supportsReturning) {
+            student = studentJpaRepository.deleteByIdColumnReturning(id)
+                    .map(this::detachToDomain);
+            student.ifPresent(deleted -> adjustStudentCountAfterCommit(-1));
+        } else {
+            student = loadStudent(id);
+            if (student.isPresent()) {
+                int deletedRows = studentJpaRepository.deleteByIdColumn(id);
+                adjustStudentCountAfterCommit(-deletedRows);
+            }
+        }
+        
         if (student.isPresent()) {
-            studentJpaRepository.deleteByIdColumn(id);
             logger.debug("Successfully deleted and returned student: {}", id);
         } else {
             logger.debug("Student not found for atomic delete: {}", id);
@@ -93,17 +224,68 @@ public class StudentPersistenceAdapter implements LoadStudentPort, SaveStudentPo
     public Optional<Student> updateStudentNames(String id, String name, String lastName) {
         logger.debug("Attempting atomic update for student: {} with names: {} {}", id, name, lastName);
         
-        int updatedRows = studentJpaRepository.updateStudentNames(id, name, lastName);
-        if (updatedRows > 0) {
-            logger.debug("Successfully updated {} rows, loading updated student: {}", updatedRows, id);
-            Optional<Student> updatedStudent = loadStudent(id);
-            if (updatedStudent.isPresent()) {
-                logger.debug("Successfully loaded updated student: {}", id);
+        String nameKey = StudentJpaEntity.nameKey(name, lastName);
+        try {
+            if (supportsReturning) {
+                Optional<Student> updatedStudent = studentJpaRepository.updateStudentNamesReturning(id, name, lastName, nameKey)
+                        .map(this::detachToDomain);
+                if (updatedStudent.isPresent()) {
+                    logger.debug("Successfully updated and returned student: {}", id);
+                } else {
+                    logger.debug("No rows updated for student: {} - student may not exist", id);
+                }
+                return updatedStudent;
             }
-            return updatedStudent;
-        } else {
-            logger.debug("No rows updated for student: {} - student may not exist", id);
-            return Optional.empty();
+            
+            int updatedRows = studentJpaRepository.updateStudentNames(id, name, lastName, nameKey);
+            if (updatedRows > 0) {
+                logger.debug("Successfully updated {} rows, loading updated student: {}", updatedRows, id);
+                Optional<Student> updatedStudent = loadStudent(id);
+                if (updatedStudent.isPresent()) {
+                    logger.debug("Successfully loaded updated student: {}", id);
+                }
+                return updatedStudent;
+            } else {
+                logger.debug("No rows updated for student: {} - student may not exist", id);
+                return Optional.empty();
+            }
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateName(name, lastName, e);
         }
     }
+
+    private void adjustStudentCountAfterCommit(long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            adjustStudentCount(delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                adjustStudentCount(delta);
+            }
+        });
+    }
+
+    private void adjustStudentCount(long delta) {
+        // leave an unknown count alone, the next countStudents() call loads it from the database;
+        // still swap in a new instance so a reconcile that is counting right now retries
+        studentCount.getAndUpdate(count -> new StudentCount(
+                count.value() == COUNT_UNKNOWN ? COUNT_UNKNOWN : Math.max(0, count.value() + delta)));
+    }
+
+    private IllegalArgumentException duplicateName(String name, String lastName, DataIntegrityViolationException cause) {
+        logger.warn("Unique name key violated for student: {} {}", name, lastName);
+        return new IllegalArgumentException("A student with the name '" + name + " " + lastName + "' already exists", cause);
+    }
+
+    /**
+     * AtomicReference.compareAndSet compares by identity, so the same count reached through a create
+     * and a delete still counts as a change in {@link #reconcileStudentCount()}.
+     */
+    private record StudentCount(long value) {
+    }
 }
\ No newline at end of file
@@ -3,8 +3,20 @@ package com.example.restsimple.application.port.in;
 import com.example.restsimple.domain.model.Student;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface GetStudentUseCase {
     List<Student> getAllStudents();
+    StudentPage getStudentsAfter(long afterMnr, int limit);
     Student getStudentById(String id);
+
+    /**
+     * Hands every student, ordered by student number, to {@code consumer} without loading the table into memory.
+     */
+    void exportStudents(Consumer<Student> consumer);
+
+    /**
+     * One page of students ordered by student number. {@code nextAfterMnr} is null on the last page.
+     */
+    record StudentPage(List<Student> students, Long nextAfterMnr) {}
 }
\ No newline at end of file
@@ -4,8 +4,32 @@ import com.example.restsimple.domain.model.Student;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface LoadStudentPort {
     Optional<Student> loadStudent(String id);
     List<Student> loadAllStudents();
+
+    /**
+     * Loads at most {@code limit} students with a student number greater than {@code mnr},
+     * ordered by student number. Seeks on the primary key, so deep pages cost the same as the first one.
+     */
+    List<Student> loadStudentsAfter(long mnr, int limit);
+
+    /**
+     * Streams all students ordered by student number from a forward-only cursor.
+     * Must be consumed inside a read-only transaction and closed by the caller.
+     */
+    Stream<Student> streamAllStudents();
+
+    /**
+     * Checks whether a student with the same trimmed, case-insensitive name and lastName exists.
+     * Backed by the unique name key index, so the cost does not depend on the table size.
+     */
+    boolean existsByNormalizedName(String name, String lastName);
+
+    /**
+     * Returns the number of stored students without loading them.
+     */
+    long countStudents();
 }
\ No newline at end of file
@@ -5,25 +5,43 @@ import com.example.restsimple.application.port.out.*;
 import com.example.restsimple.domain.exception.AdminNotFoundException;
 import com.example.restsimple.domain.exception.AuthenticationException;
 import com.example.restsimple.domain.exception.InvalidTokenException;
+import com.example.restsimple.domain.exception.ServiceOverloadedException;
 import com.example.restsimple.domain.model.Admin;
 import com.example.restsimple.domain.model.RefreshToken;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 
+/**
+ * Password hashing and verification run on the bounded hashing pool behind {@link PasswordEncoder}
+ * and outside of any transaction, so a burst of logins never holds the single SQLite write connection
+ * while BCrypt runs. Each port call opens its own short transaction.
+ */
 @Service
-@Transactional
 public class AuthenticationService implements RegisterAdminUseCase, LoginUseCase, RefreshTokenUseCase {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticationService.class);
+    private static final int DEFAULT_REFRESH_TOKEN_CACHE_SIZE = 10000;
+
     private final LoadAdminPort loadAdminPort;
     private final SaveAdminPort saveAdminPort;
     private final LoadRefreshTokenPort loadRefreshTokenPort;
     private final SaveRefreshTokenPort saveRefreshTokenPort;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final PasswordVerificationCache passwordVerificationCache;
+    private final RefreshTokenCache refreshTokenCache;
 
     public AuthenticationService(
             LoadAdminPort loadAdminPort,
@@ -32,12 +50,28 @@ public class AuthenticationService implements RegisterAdminUseCase, LoginUseCase
             SaveRefreshTokenPort saveRefreshTokenPort,
             PasswordEncoder passwordEncoder,
             JwtService jwtService) {
+        this(loadAdminPort, saveAdminPort, loadRefreshTokenPort, saveRefreshTokenPort, passwordEncoder, jwtService,
+                PasswordVerificationCache.disabled(), new RefreshTokenCache(DEFAULT_REFRESH_TOKEN_CACHE_SIZE));
+    }
+
+    @Autowired
+    public AuthenticationService(
+            LoadAdminPort loadAdminPort,
+            SaveAdminPort saveAdminPort,
+            LoadRefreshTokenPort loadRefreshTokenPort,
+            SaveRefreshTokenPort saveRefreshTokenPort,
+            PasswordEncoder passwordEncoder,
+            JwtService jwtService,
+            PasswordVerificationCache passwordVerificationCache,
+            RefreshTokenCache refreshTokenCache) {
         this.loadAdminPort = loadAdminPort;
         this.saveAdminPort = saveAdminPort;
         this.loadRefreshTokenPort = loadRefreshTokenPort;
         this.saveRefreshTokenPort = saveRefreshTokenPort;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
+        this.passwordVerificationCache = passwordVerificationCache;
+        this.refreshTokenCache = refreshTokenCache;
     }
 
     @Override
@@ -67,8 +101,12 @@ public class AuthenticationService implements RegisterAdminUseCase, LoginUseCase
         Admin admin = loadAdminPort.loadByUsername(command.username())
                 .orElseThrow(() -> new AuthenticationException("Invalid username or password"));
 
-        if (!passwordEncoder.matches(command.password(), admin.getPasswordHash())) {
-            throw new AuthenticationException("Invalid username or password");
+        if (!passwordVerificationCache.isVerified(command.username(), command.password(), admin)) {
+            if (!passwordEncoder.matches(command.password(), admin.getPasswordHash())) {
+                throw new AuthenticationException("Invalid username or password");
+            }
+            admin = upgradePasswordHash(admin, command.password());
+            passwordVerificationCache.remember(command.username(), command.password(), admin);
         }
 
         String accessToken = jwtService.generateAccessToken(admin.getId(), admin.getUsername());
@@ -76,42 +114,106 @@ public class AuthenticationService implements RegisterAdminUseCase, LoginUseCase
 
         LocalDateTime refreshTokenExpiry = LocalDateTime.now().plus(jwtService.getRefreshTokenExpirationDays(), ChronoUnit.DAYS);
         RefreshToken refreshToken = RefreshToken.createNew(refreshTokenJwt, admin.getId(), refreshTokenExpiry);
+        long epoch = refreshTokenCache.currentEpoch(admin.getId());
         saveRefreshTokenPort.save(refreshToken);
+        refreshTokenCache.put(refreshTokenJwt, admin.getId(), admin.getUsername(), toInstant(refreshTokenExpiry), false, epoch);
 
         int expiresIn = jwtService.getAccessTokenExpirationMinutes() * 60;
 
         return new LoginResponse(accessToken, refreshTokenJwt, expiresIn);
     }
 
+    /**
+     * Re-hashes the password with the current encoding when the stored hash uses an older algorithm
+     * or a lower cost, so encoder settings can change without a bulk migration. A saturated hashing
+     * pool only postpones the upgrade to the next login.
+     */
+    private Admin upgradePasswordHash(Admin admin, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(admin.getPasswordHash())) {
+            return admin;
+        }
+        try {
+            return saveAdminPort.save(admin.withUpdatedPassword(passwordEncoder.encode(rawPassword)));
+        } catch (ServiceOverloadedException e) {
+            logger.debug("Skipping password hash upgrade for admin {}: {}", admin.getId(), e.getMessage());
+            return admin;
+        }
+    }
+
+    /**
+     * Answers from {@link RefreshTokenCache} when the token was issued or looked up recently, so the
+     * common case reads neither the refresh_token nor the admin table.
+     */
     @Override
+    @Transactional(readOnly = true)
     public RefreshTokenResponse refresh(RefreshTokenCommand command) {
-        if (!jwtService.isTokenType(command.refreshToken(), "refresh")) {
+        Claims claims = jwtService.validateToken(command.refreshToken());
+        if (!"refresh".equals(claims.get("type", String.class))) {
             throw new InvalidTokenException("Invalid refresh token type");
         }
 
-        Long adminId = jwtService.extractAdminId(command.refreshToken());
+        Long adminId = Long.parseLong(claims.getSubject());
 
-        RefreshToken refreshToken = loadRefreshTokenPort.loadByToken(command.refreshToken())
-                .orElseThrow(() -> new InvalidTokenException("Refresh token not found"));
+        RefreshTokenCache.CachedRefreshToken refreshToken = refreshTokenCache.get(command.refreshToken());
+        if (refreshToken == null) {
+            refreshToken = loadRefreshToken(command.refreshToken(), adminId);
+        }
 
         if (!refreshToken.isValid()) {
             throw new InvalidTokenException("Refresh token is expired or revoked");
         }
 
-        if (!refreshToken.getAdminId().equals(adminId)) {
+        if (!refreshToken.adminId().equals(adminId)) {
             throw new InvalidTokenException("Refresh token does not belong to the authenticated user");
         }
 
-        Admin admin = loadAdminPort.loadById(adminId)
-                .orElseThrow(() -> new AdminNotFoundException("Admin not found with id: " + adminId));
-
-        String newAccessToken = jwtService.generateAccessToken(admin.getId(), admin.getUsername());
+        String newAccessToken = jwtService.generateAccessToken(adminId, refreshToken.username());
         int expiresIn = jwtService.getAccessTokenExpirationMinutes() * 60;
 
         return new RefreshTokenResponse(newAccessToken, expiresIn);
     }
 
+    private RefreshTokenCache.CachedRefreshToken loadRefreshToken(String token, Long adminId) {
+        // read before the row, a revocation committed in between leaves the cached entry stale
+        long epoch = refreshTokenCache.currentEpoch(adminId);
+
+        RefreshToken refreshToken = loadRefreshTokenPort.loadByToken(token)
+                .orElseThrow(() -> new InvalidTokenException("Refresh token not found"));
+
+        if (!refreshToken.isValid() || !refreshToken.getAdminId().equals(adminId)) {
+            return new RefreshTokenCache.CachedRefreshToken(refreshToken.getAdminId(), null,
+                    toInstant(refreshToken.getExpiresAt()), refreshToken.isRevoked(), epoch);
+        }
+
+        Admin admin = loadAdminPort.loadById(adminId)
+                .orElseThrow(() -> new AdminNotFoundException("Admin not found with id: " + adminId));
+
+        Instant expiresAt = toInstant(refreshToken.getExpiresAt());
+        refreshTokenCache.put(token, adminId, admin.getUsername(), expiresAt, false, epoch);
+        return new RefreshTokenCache.CachedRefreshToken(adminId, admin.getUsername(), expiresAt, false, epoch);
+    }
+
+    /**
+     * Bumps the admin's revocation epoch before the update, so cached tokens stop working right away,
+     * and once more after commit, so a refresh that read the rows before the update cannot cache them as valid.
+     */
+    @Transactional
     public void revokeAllRefreshTokens(Long adminId) {
+        refreshTokenCache.revokeAll(adminId);
         loadRefreshTokenPort.revokeAllByAdminId(adminId);
+        passwordVerificationCache.evict(adminId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshTokenCache.revokeAll(adminId);
+                }
+            });
+        }
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.example.restsimple.application.service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Concurrent cache with a size bound and per-entry expiry. Reads are a plain ConcurrentHashMap lookup.
+ * Every put is also appended to an insertion-ordered queue. Once the map holds more than
+ * {@code maxSize} entries, the oldest entries are evicted from the head of that queue, and expired
+ * entries at the head are dropped as well. Each put does O(1) amortized work and never scans the map.
+ */
+final class ExpiringCache<K, V> {
+
+    private final int maxSize;
+    private final Function<V, Instant> expiresAt;
+    private final Map<K, V> entries = new ConcurrentHashMap<>();
+    // one node per put, oldest first; nodes whose value was replaced or removed are skipped on eviction
+    private final Queue<Node<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    ExpiringCache(int maxSize, Function<V, Instant> expiresAt) {
+        this.maxSize = Math.max(1, maxSize);
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Returns the live value for the key, or null if there is none or it has expired.
+     */
+    V get(K key) {
+        V value = entries.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (!Instant.now().isBefore(expiresAt.apply(value))) {
+            entries.remove(key, value);
+            return null;
+        }
+        return value;
+    }
+
+    void put(K key, V value) {
+        entries.put(key, value);
+        insertionOrder.add(new Node<>(key, value));
+        evict(Instant.now());
+    }
+
+    void remove(K key, V value) {
+        entries.remove(key, value);
+    }
+
+    /**
+     * Scans every entry, meant for rare invalidations such as revoking all entries of one user.
+     */
+    void removeIf(Predicate<V> predicate) {
+        entries.values().removeIf(predicate);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict(Instant now) {
+        Node<K, V> head;
+        while ((head = insertionOrder.peek()) != null) {
+            boolean stale = entries.get(head.key()) != head.value();
+            boolean expired = !now.isBefore(expiresAt.apply(head.value()));
+            if (!stale && !expired && entries.size() <= maxSize) {
+                return;
+            }
+            // under contention this may evict a different node than the one inspected, fine for a cache
+            Node<K, V> evicted = insertionOrder.poll();
+            if (evicted == null) {
+                return;
+            }
+            entries.remove(evicted.key(), evicted.value());
+        }
+    }
+
+    private record Node<K, V>(K key, V value) {}
+}
\ No newline at end of file
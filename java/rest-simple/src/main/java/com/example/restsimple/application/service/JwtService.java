@@ -3,28 +3,50 @@ package com.example.restsimple.application.service;
 import com.example.restsimple.domain.exception.InvalidTokenException;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.Date;
 
 @Service
 public class JwtService {
 
+    private static final int DEFAULT_ACCESS_TOKEN_CACHE_SIZE = 10000;
+
     private final SecretKey secretKey;
+    private final JwtParser jwtParser;
     private final int accessTokenExpirationMinutes;
     private final int refreshTokenExpirationDays;
 
+    // SHA-256 digest of a verified access token -> its claims, kept until the token expires
+    private final ExpiringCache<String, AccessTokenPrincipal> accessTokenCache;
+
+    public JwtService(String secret, int accessTokenExpirationMinutes, int refreshTokenExpirationDays) {
+        this(secret, accessTokenExpirationMinutes, refreshTokenExpirationDays, DEFAULT_ACCESS_TOKEN_CACHE_SIZE);
+    }
+
+    @Autowired
     public JwtService(
             @Value("${jwt.secret:mySecretKey1234567890123456789012345678901234567890}") String secret,
             @Value("${jwt.access-token-expiration-minutes:15}") int accessTokenExpirationMinutes,
-            @Value("${jwt.refresh-token-expiration-days:30}") int refreshTokenExpirationDays) {
+            @Value("${jwt.refresh-token-expiration-days:30}") int refreshTokenExpirationDays,
+            @Value("${jwt.access-token-cache-size:10000}") int accessTokenCacheSize) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
+        // JwtParser is immutable and thread-safe, build it once instead of per token
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
         this.accessTokenExpirationMinutes = accessTokenExpirationMinutes;
         this.refreshTokenExpirationDays = refreshTokenExpirationDays;
+        this.accessTokenCache = new ExpiringCache<>(accessTokenCacheSize, AccessTokenPrincipal::expiresAt);
     }
 
     public String generateAccessToken(Long adminId, String username) {
@@ -56,9 +78,7 @@ public class JwtService {
 
     public Claims validateToken(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
+            return jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (JwtException | IllegalArgumentException e) {
@@ -66,6 +86,48 @@ public class JwtService {
         }
     }
 
+    /**
+     * Verifies an access token once and returns its principal. Verified tokens are cached by digest
+     * until they expire, so repeated requests with the same token skip the signature check.
+     */
+    public AccessTokenPrincipal parseAccessToken(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new InvalidTokenException("Invalid or expired token: token is empty");
+        }
+
+        String digest = digest(token);
+        AccessTokenPrincipal cached = accessTokenCache.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = validateToken(token);
+        if (!"access".equals(claims.get("type", String.class))) {
+            throw new InvalidTokenException("Invalid token type, expected an access token");
+        }
+        AccessTokenPrincipal principal;
+        try {
+            principal = new AccessTokenPrincipal(
+                    Long.parseLong(claims.getSubject()),
+                    claims.get("username", String.class),
+                    claims.getExpiration().toInstant());
+        } catch (RuntimeException e) {
+            throw new InvalidTokenException("Invalid or expired token: " + e.getMessage());
+        }
+
+        accessTokenCache.put(digest, principal);
+        return principal;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     public Long extractAdminId(String token) {
         Claims claims = validateToken(token);
         return Long.parseLong(claims.getSubject());
@@ -93,4 +155,6 @@ public class JwtService {
     public int getRefreshTokenExpirationDays() {
         return refreshTokenExpirationDays;
     }
+
+    public record AccessTokenPrincipal(Long adminId, String username, Instant expiresAt) {}
 }
\ No newline at end of file
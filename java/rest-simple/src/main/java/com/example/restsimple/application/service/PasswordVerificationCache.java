@@ -0,0 +1,82 @@
+package com.example.restsimple.application.service;
+
+import com.example.restsimple.domain.model.Admin;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Remembers successful password checks for a short time so clients that log in every few seconds
+ * skip the password hash. Entries are keyed by HMAC(username, password) under a random key that
+ * only lives in this process, so neither passwords nor reusable digests are kept in memory or on disk.
+ * An entry only counts while the admin still has the password hash it was verified against.
+ */
+@Service
+public class PasswordVerificationCache {
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final SecretKeySpec hmacKey;
+
+    // HMAC(username, password) -> the admin and password hash it was verified against
+    private final ExpiringCache<String, VerifiedPassword> entries;
+
+    public PasswordVerificationCache(
+            @Value("${app.security.password-verification-cache.enabled:false}") boolean enabled,
+            @Value("${app.security.password-verification-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${app.security.password-verification-cache.max-size:1000}") int maxSize) {
+        this.enabled = enabled;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.entries = new ExpiringCache<>(maxSize, VerifiedPassword::expiresAt);
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.hmacKey = new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    public static PasswordVerificationCache disabled() {
+        return new PasswordVerificationCache(false, 0, 0);
+    }
+
+    public boolean isVerified(String username, String rawPassword, Admin admin) {
+        if (!enabled) {
+            return false;
+        }
+        VerifiedPassword entry = entries.get(key(username, rawPassword));
+        return entry != null && entry.adminId().equals(admin.getId()) && entry.passwordHash().equals(admin.getPasswordHash());
+    }
+
+    public void remember(String username, String rawPassword, Admin admin) {
+        if (!enabled) {
+            return;
+        }
+        entries.put(key(username, rawPassword),
+                new VerifiedPassword(admin.getId(), admin.getPasswordHash(), Instant.now().plus(ttl)));
+    }
+
+    public void evict(Long adminId) {
+        entries.removeIf(entry -> entry.adminId().equals(adminId));
+    }
+
+    private String key(String username, String rawPassword) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(hmacKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            // separator so ("ab", "c") and ("a", "bc") never collide
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(rawPassword.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private record VerifiedPassword(Long adminId, String passwordHash, Instant expiresAt) {}
+}
\ No newline at end of file
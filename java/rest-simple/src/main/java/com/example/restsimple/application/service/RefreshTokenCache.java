@@ -0,0 +1,83 @@
+package com.example.restsimple.application.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps refresh tokens that were issued or looked up recently, so a refresh normally needs neither
+ * the refresh_token row nor the admin row. Revoking all tokens of an admin bumps a per-admin epoch
+ * instead of touching entries: an entry only counts while its epoch is the admin's current one,
+ * which makes revocation O(1) and immediately visible. The database stays the source of truth,
+ * a miss always falls back to it.
+ */
+@Service
+public class RefreshTokenCache {
+
+    private static final int KEY_BYTES = 16;
+
+    // first 16 bytes of SHA-256(token) -> what a refresh needs to know about it
+    private final ExpiringCache<String, CachedRefreshToken> entries;
+    // admin id -> revocation epoch, bumped by revokeAll. Never shrinks, but holds one counter per admin
+    // that was ever revoked, so it is bounded by the number of admins. Dropping a counter would reset it
+    // to 0 and bring entries cached before that admin's first revocation back to life.
+    private final Map<Long, Long> revocationEpochs = new ConcurrentHashMap<>();
+
+    public RefreshTokenCache(@Value("${jwt.refresh-token-cache-size:10000}") int maxSize) {
+        this.entries = new ExpiringCache<>(maxSize, CachedRefreshToken::expiresAt);
+    }
+
+    /**
+     * Read the epoch before loading or saving the token it will be cached with, so a revocation that
+     * races with the load leaves the entry stale instead of valid.
+     */
+    public long currentEpoch(Long adminId) {
+        return revocationEpochs.getOrDefault(adminId, 0L);
+    }
+
+    public CachedRefreshToken get(String token) {
+        String key = key(token);
+        CachedRefreshToken entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.epoch() != currentEpoch(entry.adminId())) {
+            // revoked since it was cached, let the database decide
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    public void put(String token, Long adminId, String username, Instant expiresAt, boolean revoked, long epoch) {
+        entries.put(key(token), new CachedRefreshToken(adminId, username, expiresAt, revoked, epoch));
+    }
+
+    public void revokeAll(Long adminId) {
+        revocationEpochs.merge(adminId, 1L, Long::sum);
+    }
+
+    private static String key(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, KEY_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public record CachedRefreshToken(Long adminId, String username, Instant expiresAt, boolean revoked, long epoch) {
+
+        public boolean isValid() {
+            return !revoked && Instant.now().isBefore(expiresAt);
+        }
+    }
+}
\ No newline at end of file
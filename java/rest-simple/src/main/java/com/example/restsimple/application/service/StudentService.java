@@ -3,10 +3,14 @@ package com.example.restsimple.application.service;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,16 +33,25 @@ public class StudentService implements CreateStudentUseCase, GetStudentUseCase,
     private static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-ZäöüÄÖÜß\\s-']+$");
     private static final int MIN_NAME_LENGTH = 2;
     private static final int MAX_NAME_LENGTH = 50;
-    private static final int MAX_ACTIVE_STUDENTS = 10000;
+    private static final int DEFAULT_MAX_ACTIVE_STUDENTS = 10000;
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final LoadStudentPort loadStudentPort;
     private final SaveStudentPort saveStudentPort;
     private final DeleteStudentPort deleteStudentPort;
+    private final int maxActiveStudents;
 
     public StudentService(LoadStudentPort loadStudentPort, SaveStudentPort saveStudentPort, DeleteStudentPort deleteStudentPort) {
+        this(loadStudentPort, saveStudentPort, deleteStudentPort, DEFAULT_MAX_ACTIVE_STUDENTS);
+    }
+
+    @Autowired
+    public StudentService(LoadStudentPort loadStudentPort, SaveStudentPort saveStudentPort, DeleteStudentPort deleteStudentPort,
+                          @Value("${app.students.max-active:10000}") int maxActiveStudents) {
         this.loadStudentPort = loadStudentPort;
         this.saveStudentPort = saveStudentPort;
         this.deleteStudentPort = deleteStudentPort;
+        this.maxActiveStudents = maxActiveStudents;
     }
 
     @Override
@@ -46,8 +59,8 @@ public class StudentService implements CreateStudentUseCase, GetStudentUseCase,
         logger.info("Creating new student: {} {}", command.name(), command.lastName());
         
         try {
-            // keep in mind that this is a simple example and in a real world application 
-            // you would want database level uniqueness
+            // the lookup gives a friendly error early, the unique name key index on the
+            // student table is what actually guarantees uniqueness
             validateStudentNames(command.name(), command.lastName());
             checkStudentCapacity();
             preventDuplicateStudent(command.name(), command.lastName());
@@ -82,6 +95,47 @@ public class StudentService implements CreateStudentUseCase, GetStudentUseCase,
         return students;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public StudentPage getStudentsAfter(long afterMnr, int limit) {
+        logger.debug("Retrieving students after student number {} (limit {})", afterMnr, limit);
+        
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        if (afterMnr < 0) {
+            throw new IllegalArgumentException("Cursor must not be negative");
+        }
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        
+        // fetch one extra row to find out whether another page follows
+        List<Student> students = loadStudentPort.loadStudentsAfter(afterMnr, pageSize + 1);
+        Long nextAfterMnr = null;
+        if (students.size() > pageSize) {
+            students = students.subList(0, pageSize);
+            nextAfterMnr = Long.parseLong(students.get(pageSize - 1).getMnr());
+        }
+        
+        logger.info("Retrieved page of {} students after student number {}", students.size(), afterMnr);
+        return new StudentPage(students, nextAfterMnr);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportStudents(Consumer<Student> consumer) {
+        logger.debug("Exporting all students");
+        
+        long exported = 0;
+        try (Stream<Student> students = loadStudentPort.streamAllStudents()) {
+            for (Student student : (Iterable<Student>) students::iterator) {
+                consumer.accept(student);
+                exported++;
+            }
+        }
+        
+        logger.info("Exported {} students", exported);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Student getStudentById(String id) {
@@ -167,27 +221,19 @@ public class StudentService implements CreateStudentUseCase, GetStudentUseCase,
     }
 
     private void checkStudentCapacity() {
-        List<Student> allStudents = loadStudentPort.loadAllStudents();
-        int currentCount = allStudents.size();
-        logger.debug("Checking student capacity: {}/{}", currentCount, MAX_ACTIVE_STUDENTS);
+        long currentCount = loadStudentPort.countStudents();
+        logger.debug("Checking student capacity: {}/{}", currentCount, maxActiveStudents);
         
-        if (currentCount >= MAX_ACTIVE_STUDENTS) {
-            logger.warn("Student capacity limit reached: {}/{}", currentCount, MAX_ACTIVE_STUDENTS);
-            throw new IllegalStateException("Maximum student capacity reached (" + MAX_ACTIVE_STUDENTS + "). Cannot register new students.");
+        if (currentCount >= maxActiveStudents) {
+            logger.warn("Student capacity limit reached: {}/{}", currentCount, maxActiveStudents);
+            throw new IllegalStateException("Maximum student capacity reached (" + maxActiveStudents + "). Cannot register new students.");
         }
     }
 
     private void preventDuplicateStudent(String name, String lastName) {
         logger.debug("Checking for duplicate student: {} {}", name, lastName);
-        List<Student> existingStudents = loadStudentPort.loadAllStudents();
-        
-        boolean duplicateExists = existingStudents.stream()
-                .anyMatch(student -> 
-                    student.getName().trim().equalsIgnoreCase(name.trim()) &&
-                    student.getLastName().trim().equalsIgnoreCase(lastName.trim())
-                );
         
-        if (duplicateExists) {
+        if (loadStudentPort.existsByNormalizedName(name, lastName)) {
             logger.warn("Duplicate student detected: {} {}", name, lastName);
             throw new IllegalArgumentException("A student with the name '" + name + " " + lastName + "' already exists");
         }
@@ -0,0 +1,27 @@
+package com.example.restsimple.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+/**
+ * Caches at most {@code limit} bytes of the request body for logging and records whether the body
+ * read by the application went past that limit. Unlike the Content-Length header this also works
+ * for chunked requests, which report a length of -1.
+ */
+class BoundedCaptureRequestWrapper extends ContentCachingRequestWrapper {
+
+    private boolean truncated;
+
+    BoundedCaptureRequestWrapper(HttpServletRequest request, int limit) {
+        super(request, limit);
+    }
+
+    @Override
+    protected void handleContentOverflow(int contentCacheLimit) {
+        truncated = true;
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.example.restsimple.config;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * Passes the response body straight through to the client and keeps a copy of at most
+ * {@code limit} bytes for logging. Unlike ContentCachingResponseWrapper the body is never buffered.
+ */
+class BoundedCaptureResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int limit;
+    private final byte[] captured;
+    private int capturedLength;
+    private long totalLength;
+    private CapturingOutputStream outputStream;
+    private PrintWriter writer;
+
+    BoundedCaptureResponseWrapper(HttpServletResponse response, int limit) {
+        super(response);
+        this.limit = Math.max(0, limit);
+        this.captured = new byte[this.limit];
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        return captureStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(captureStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    byte[] getCapturedBody() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return Arrays.copyOf(captured, capturedLength);
+    }
+
+    boolean isTruncated() {
+        return totalLength > capturedLength;
+    }
+
+    private CapturingOutputStream captureStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CapturingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        int room = limit - capturedLength;
+        if (room > 0) {
+            int copied = Math.min(room, length);
+            System.arraycopy(bytes, offset, captured, capturedLength, copied);
+            capturedLength += copied;
+        }
+        totalLength += length;
+    }
+
+    private class CapturingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        CapturingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            if (capturedLength < limit) {
+                captured[capturedLength++] = (byte) b;
+            }
+            totalLength++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            capture(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
\ No newline at end of file
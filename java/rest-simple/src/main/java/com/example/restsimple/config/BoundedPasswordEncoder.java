@@ -0,0 +1,161 @@
+package com.example.restsimple.config;
+
+import com.example.restsimple.domain.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the delegate's hashing and verification on a fixed pool with a bounded queue.
+ * Callers that find the queue full, or wait longer than {@code maxWait}, get a
+ * {@link ServiceOverloadedException} instead of tying up a request thread behind
+ * CPU-bound password hashing.
+ * <p>
+ * {@code maxWait} limits how long a caller waits, not how long a worker is busy: a timed-out task that
+ * is still queued is skipped, but one that is already hashing runs to completion, as BCrypt does not
+ * react to interruption.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration maxWait,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWait = maxWait;
+        this.executor = new ThreadPoolExecutor(
+                Math.max(1, threads), Math.max(1, threads),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                daemonThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        if (meterRegistry != null) {
+            this.encodeTimer = hashTimer(meterRegistry, "encode");
+            this.matchesTimer = hashTimer(meterRegistry, "matches");
+            this.queueWaitTimer = Timer.builder("password_hash_queue_wait")
+                    .description("Time password hashing tasks spend queued before a worker picks them up")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("password_hash_rejected")
+                    .description("Password hashing requests rejected because the queue was full or the wait timed out")
+                    .register(meterRegistry);
+            Gauge.builder("password_hash_queue_size", executor, e -> e.getQueue().size())
+                    .description("Password hashing tasks waiting for a worker")
+                    .register(meterRegistry);
+            Gauge.builder("password_hash_active", executor, ThreadPoolExecutor::getActiveCount)
+                    .description("Password hashing tasks currently running")
+                    .register(meterRegistry);
+        } else {
+            this.encodeTimer = null;
+            this.matchesTimer = null;
+            this.queueWaitTimer = null;
+            this.rejected = null;
+        }
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Timer timer, Callable<T> task) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                if (queueWaitTimer != null) {
+                    queueWaitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                }
+                return timer != null ? timer.recordCallable(task) : task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            throw overloaded("Password hashing queue is full");
+        }
+
+        try {
+            return future.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // only keeps a queued task from starting, a running hash is not interruptible
+            future.cancel(true);
+            throw overloaded("Password hashing did not complete within " + maxWait.toMillis() + "ms");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private ServiceOverloadedException overloaded(String message) {
+        if (rejected != null) {
+            rejected.increment();
+        }
+        // rejections come in bursts under overload; they are counted in password_hash_rejected,
+        // so a log line per request would only add work on the request thread
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} (queued: {}, active: {})", message, executor.getQueue().size(), executor.getActiveCount());
+        }
+        return new ServiceOverloadedException(message, Math.max(1, maxWait.toSeconds()));
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password_hash_duration")
+                .description("Time a hashing worker spends hashing or verifying a password")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hasher-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.example.restsimple.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,34 +10,67 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Enumeration;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE + 1)
-public class DetailedLoggingFilter extends OncePerRequestFilter {
+public class DetailedLoggingFilter extends OncePerRequestFilter implements DisposableBean {
     
     private static final Logger logger = LoggerFactory.getLogger(DetailedLoggingFilter.class);
     private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
     private static final String CORRELATION_ID_KEY = "correlationId";
+    private static final String TRUNCATED_MARKER = "...[TRUNCATED]";
     
     private final LoggingConfiguration loggingConfig;
+    private final BlockingQueue<LogEvent> logQueue;
+    private final Thread logWriter;
+    private final Counter droppedEvents;
+    private volatile boolean running = true;
     
-    public DetailedLoggingFilter(@Autowired(required = false) LoggingConfiguration loggingConfig) {
+    public DetailedLoggingFilter(@Autowired(required = false) LoggingConfiguration loggingConfig,
+                                 @Autowired(required = false) MeterRegistry meterRegistry) {
         this.loggingConfig = loggingConfig != null ? loggingConfig : createDefaultConfig();
+        
+        if (this.loggingConfig.isAsyncLogging()) {
+            this.logQueue = new ArrayBlockingQueue<>(Math.max(1, this.loggingConfig.getQueueCapacity()));
+            this.logWriter = new Thread(this::drainLogQueue, "request-log-writer");
+            this.logWriter.setDaemon(true);
+            this.logWriter.start();
+        } else {
+            this.logQueue = null;
+            this.logWriter = null;
+        }
+        
+        if (meterRegistry != null) {
+            this.droppedEvents = Counter.builder("request_log_events_dropped")
+                    .description("Request log events discarded because the log queue was full")
+                    .register(meterRegistry);
+            if (logQueue != null) {
+                Gauge.builder("request_log_queue_size", logQueue, Collection::size)
+                        .description("Request log events waiting to be written")
+                        .register(meterRegistry);
+            }
+        } else {
+            this.droppedEvents = null;
+        }
     }
     
     private LoggingConfiguration createDefaultConfig() {
@@ -45,6 +81,8 @@ public class DetailedLoggingFilter extends OncePerRequestFilter {
         config.setLogRequestBody(true);
         config.setLogResponseBody(true);
         config.setMaxBodySize(1000);
+        config.setAsyncLogging(true);
+        config.setQueueCapacity(1024);
         return config;
     }
     
@@ -60,9 +98,17 @@ public class DetailedLoggingFilter extends OncePerRequestFilter {
         }
         
         String correlationId = getOrGenerateCorrelationId(request);
+        int maxBodySize = loggingConfig.getMaxBodySize();
         
-        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        // Only wrap what will actually be logged; both wrappers keep at most maxBodySize bytes
+        BoundedCaptureRequestWrapper requestWrapper =
+                loggingConfig.isLogRequestBody() && logger.isInfoEnabled() && shouldLogRequestBody(request.getMethod())
+                        ? new BoundedCaptureRequestWrapper(request, maxBodySize)
+                        : null;
+        BoundedCaptureResponseWrapper responseWrapper =
+                loggingConfig.isLogResponseBody() && logger.isInfoEnabled()
+                        ? new BoundedCaptureResponseWrapper(response, maxBodySize)
+                        : null;
         
         try {
             MDC.put(CORRELATION_ID_KEY, correlationId);
@@ -70,119 +116,122 @@ public class DetailedLoggingFilter extends OncePerRequestFilter {
             
             long startTime = System.currentTimeMillis();
             
-            // Log detailed request information
-            logRequestDetails(requestWrapper, correlationId);
+            if (logger.isInfoEnabled()) {
+                publish(new RequestStart(correlationId, request.getMethod(), request.getRequestURI(),
+                        request.getQueryString(), captureRequestHeaders(request)));
+            }
             
-            filterChain.doFilter(requestWrapper, responseWrapper);
+            filterChain.doFilter(requestWrapper != null ? requestWrapper : request,
+                    responseWrapper != null ? responseWrapper : response);
             
             long duration = System.currentTimeMillis() - startTime;
             
-            // Log detailed response information
-            logResponseDetails(responseWrapper, duration, correlationId);
-            
-            // Copy cached response content back to original response
-            responseWrapper.copyBodyToResponse();
+            if (logger.isInfoEnabled()) {
+                byte[] requestBody = requestWrapper != null ? requestWrapper.getContentAsByteArray() : null;
+                boolean requestTruncated = requestWrapper != null && requestWrapper.isTruncated();
+                byte[] responseBody = responseWrapper != null ? responseWrapper.getCapturedBody() : null;
+                boolean responseTruncated = responseWrapper != null && responseWrapper.isTruncated();
+                publish(new RequestEnd(correlationId, response.getStatus(), duration, requestBody, requestTruncated,
+                        captureResponseHeaders(response), responseBody, responseTruncated));
+            }
             
         } finally {
             MDC.clear();
         }
     }
     
-    private boolean shouldSkipLogging(HttpServletRequest request) {
-        String uri = request.getRequestURI();
-        return uri.equals("/healthz") || 
-               uri.startsWith("/swagger-ui") || 
-               uri.startsWith("/v3/api-docs") ||
-               uri.equals("/favicon.ico");
-    }
-    
-    private void logRequestDetails(ContentCachingRequestWrapper request, String correlationId) {
-        String method = request.getMethod();
-        String uri = request.getRequestURI();
-        String queryString = request.getQueryString();
-        
-        logger.info("=== REQUEST START === Method: {} URI: {}{} - Correlation ID: {}", 
-                   method, uri, queryString != null ? "?" + queryString : "", correlationId);
-        
-        // Log headers (excluding sensitive ones)
-        if (loggingConfig.isLogRequestHeaders()) {
-            Map<String, String> headers = getRequestHeaders(request);
-            if (!headers.isEmpty()) {
-                logger.debug("Request Headers: {}", headers);
-            }
+    /**
+     * Hands the event to the background writer, or writes it inline when async logging is disabled.
+     * A full queue never blocks the request thread; the event is dropped and counted instead.
+     */
+    private void publish(LogEvent event) {
+        if (logQueue == null) {
+            event.write();
+            return;
         }
-        
-        // Log request body for POST/PUT/PATCH
-        if (loggingConfig.isLogRequestBody() && shouldLogRequestBody(method)) {
-            String requestBody = getRequestBody(request);
-            if (requestBody != null && !requestBody.trim().isEmpty()) {
-                logger.info("Request Body: {}", requestBody);
-            }
+        if (!logQueue.offer(event) && droppedEvents != null) {
+            droppedEvents.increment();
         }
     }
     
-    private void logResponseDetails(ContentCachingResponseWrapper response, long duration, String correlationId) {
-        int status = response.getStatus();
-        
-        logger.info("=== RESPONSE END === Status: {} - Duration: {}ms - Correlation ID: {}", 
-                   status, duration, correlationId);
-        
-        // Log response headers
-        if (loggingConfig.isLogResponseHeaders()) {
-            Map<String, String> responseHeaders = getResponseHeaders(response);
-            if (!responseHeaders.isEmpty()) {
-                logger.debug("Response Headers: {}", responseHeaders);
-            }
-        }
-        
-        // Log response body
-        if (loggingConfig.isLogResponseBody()) {
-            String responseBody = getResponseBody(response);
-            if (responseBody != null && !responseBody.trim().isEmpty()) {
-                if (status >= 400) {
-                    logger.error("Error Response Body: {}", responseBody);
-                } else {
-                    logger.info("Response Body: {}", responseBody);
+    private void drainLogQueue() {
+        while (running || !logQueue.isEmpty()) {
+            try {
+                LogEvent event = logQueue.poll(1, TimeUnit.SECONDS);
+                if (event == null) {
+                    continue;
+                }
+                MDC.put(CORRELATION_ID_KEY, event.correlationId());
+                try {
+                    event.write();
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to write request log event: {}", e.getMessage());
+                } finally {
+                    MDC.remove(CORRELATION_ID_KEY);
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
             }
         }
     }
     
-    private Map<String, String> getRequestHeaders(HttpServletRequest request) {
-        Map<String, String> headers = new HashMap<>();
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (logWriter != null) {
+            logWriter.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+    
+    private boolean shouldSkipLogging(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return uri.equals("/healthz") || 
+               uri.startsWith("/swagger-ui") || 
+               uri.startsWith("/v3/api-docs") ||
+               uri.equals("/favicon.ico");
+    }
+    
+    /**
+     * Copies raw header name/value pairs; formatting and redaction happen when the event is written.
+     */
+    private List<String> captureRequestHeaders(HttpServletRequest request) {
+        if (!loggingConfig.isLogRequestHeaders() || !logger.isDebugEnabled()) {
+            return null;
+        }
+        List<String> headers = new ArrayList<>();
         Enumeration<String> headerNames = request.getHeaderNames();
-        
         while (headerNames.hasMoreElements()) {
             String headerName = headerNames.nextElement();
-            String headerValue = request.getHeader(headerName);
-            
-            // Filter out sensitive headers
-            if (isSensitiveHeader(headerName)) {
-                headers.put(headerName, "[REDACTED]");
-            } else {
-                headers.put(headerName, headerValue);
-            }
+            headers.add(headerName);
+            headers.add(request.getHeader(headerName));
         }
-        
         return headers;
     }
     
-    private Map<String, String> getResponseHeaders(HttpServletResponse response) {
-        Map<String, String> headers = new HashMap<>();
-        
+    private List<String> captureResponseHeaders(HttpServletResponse response) {
+        if (!loggingConfig.isLogResponseHeaders() || !logger.isDebugEnabled()) {
+            return null;
+        }
+        List<String> headers = new ArrayList<>();
         for (String headerName : response.getHeaderNames()) {
-            String headerValue = response.getHeader(headerName);
-            if (isSensitiveHeader(headerName)) {
-                headers.put(headerName, "[REDACTED]");
-            } else {
-                headers.put(headerName, headerValue);
-            }
+            headers.add(headerName);
+            headers.add(response.getHeader(headerName));
         }
-        
         return headers;
     }
     
-    private boolean isSensitiveHeader(String headerName) {
+    private static Map<String, String> renderHeaders(List<String> headers) {
+        Map<String, String> rendered = new LinkedHashMap<>();
+        for (int i = 0; i < headers.size(); i += 2) {
+            String headerName = headers.get(i);
+            // Filter out sensitive headers
+            rendered.put(headerName, isSensitiveHeader(headerName) ? "[REDACTED]" : headers.get(i + 1));
+        }
+        return rendered;
+    }
+    
+    private static boolean isSensitiveHeader(String headerName) {
         String lowerCaseName = headerName.toLowerCase();
         return lowerCaseName.contains("authorization") ||
                lowerCaseName.contains("password") ||
@@ -195,34 +244,15 @@ public class DetailedLoggingFilter extends OncePerRequestFilter {
         return "POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method);
     }
     
-    private String getRequestBody(ContentCachingRequestWrapper request) {
-        try {
-            byte[] content = request.getContentAsByteArray();
-            if (content.length > 0) {
-                String body = new String(content, StandardCharsets.UTF_8);
-                // Limit body size to prevent log flooding
-                int maxSize = loggingConfig.getMaxBodySize();
-                return body.length() > maxSize ? body.substring(0, maxSize) + "...[TRUNCATED]" : body;
-            }
-        } catch (Exception e) {
-            logger.warn("Failed to read request body: {}", e.getMessage());
+    private static String renderBody(byte[] content, boolean truncated) {
+        if (content == null || content.length == 0) {
+            return null;
         }
-        return null;
-    }
-    
-    private String getResponseBody(ContentCachingResponseWrapper response) {
-        try {
-            byte[] content = response.getContentAsByteArray();
-            if (content.length > 0) {
-                String body = new String(content, StandardCharsets.UTF_8);
-                // Limit body size to prevent log flooding
-                int maxSize = loggingConfig.getMaxBodySize();
-                return body.length() > maxSize ? body.substring(0, maxSize) + "...[TRUNCATED]" : body;
-            }
-        } catch (Exception e) {
-            logger.warn("Failed to read response body: {}", e.getMessage());
+        String body = new String(content, StandardCharsets.UTF_8);
+        if (body.isBlank()) {
+            return null;
         }
-        return null;
+        return truncated ? body + TRUNCATED_MARKER : body;
     }
     
     private String getOrGenerateCorrelationId(HttpServletRequest request) {
@@ -232,4 +262,53 @@ public class DetailedLoggingFilter extends OncePerRequestFilter {
         }
         return correlationId;
     }
+    
+    private interface LogEvent {
+        String correlationId();
+        
+        void write();
+    }
+    
+    private record RequestStart(String correlationId, String method, String uri, String queryString,
+                                List<String> headers) implements LogEvent {
+        
+        @Override
+        public void write() {
+            logger.info("=== REQUEST START === Method: {} URI: {}{} - Correlation ID: {}", 
+                       method, uri, queryString != null ? "?" + queryString : "", correlationId);
+            
+            if (headers != null && !headers.isEmpty()) {
+                logger.debug("Request Headers: {}", renderHeaders(headers));
+            }
+        }
+    }
+    
+    private record RequestEnd(String correlationId, int status, long duration,
+                              byte[] requestBody, boolean requestTruncated, List<String> headers,
+                              byte[] responseBody, boolean responseTruncated) implements LogEvent {
+        
+        @Override
+        public void write() {
+            String renderedRequestBody = renderBody(requestBody, requestTruncated);
+            if (renderedRequestBody != null) {
+                logger.info("Request Body: {}", renderedRequestBody);
+            }
+            
+            logger.info("=== RESPONSE END === Status: {} - Duration: {}ms - Correlation ID: {}", 
+                       status, duration, correlationId);
+            
+            if (headers != null && !headers.isEmpty()) {
+                logger.debug("Response Headers: {}", renderHeaders(headers));
+            }
+            
+            String renderedResponseBody = renderBody(responseBody, responseTruncated);
+            if (renderedResponseBody != null) {
+                if (status >= 400) {
+                    logger.error("Error Response Body: {}", renderedResponseBody);
+                } else {
+                    logger.info("Response Body: {}", renderedResponseBody);
+                }
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.example.restsimple.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.metrics.http")
+public class HttpMetricsProperties {
+    
+    private List<Double> percentiles = new ArrayList<>(List.of(0.5, 0.95, 0.99));
+    private List<Duration> sloBuckets = new ArrayList<>(List.of(
+            Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+            Duration.ofMillis(500), Duration.ofSeconds(1)));
+    
+    // Getters and setters
+    public List<Double> getPercentiles() {
+        return percentiles;
+    }
+    
+    public void setPercentiles(List<Double> percentiles) {
+        this.percentiles = percentiles;
+    }
+    
+    public List<Duration> getSloBuckets() {
+        return sloBuckets;
+    }
+    
+    public void setSloBuckets(List<Duration> sloBuckets) {
+        this.sloBuckets = sloBuckets;
+    }
+}
\ No newline at end of file
@@ -41,17 +41,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             final String jwt = authHeader.substring(7);
             
-            if (!jwtService.isTokenType(jwt, "access")) {
-                filterChain.doFilter(request, response);
-                return;
-            }
-
-            final Long adminId = jwtService.extractAdminId(jwt);
-            final String username = jwtService.extractUsername(jwt);
+            // one verification per request, refresh tokens and other token types are rejected here
+            final JwtService.AccessTokenPrincipal principal = jwtService.parseAccessToken(jwt);
 
-            if (adminId != null && username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            if (principal.adminId() != null && principal.username() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        new AdminPrincipal(adminId, username),
+                        new AdminPrincipal(principal.adminId(), principal.username()),
                         null,
                         Collections.emptyList()
                 );
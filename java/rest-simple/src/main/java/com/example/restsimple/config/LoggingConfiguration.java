@@ -13,6 +13,8 @@ public class LoggingConfiguration {
     private boolean logRequestBody = true;
     private boolean logResponseBody = true;
     private int maxBodySize = 1000;
+    private boolean asyncLogging = true;
+    private int queueCapacity = 1024;
     
     // Getters and setters
     public boolean isDetailedRequestLogging() {
@@ -62,4 +64,20 @@ public class LoggingConfiguration {
     public void setMaxBodySize(int maxBodySize) {
         this.maxBodySize = maxBodySize;
     }
+    
+    public boolean isAsyncLogging() {
+        return asyncLogging;
+    }
+    
+    public void setAsyncLogging(boolean asyncLogging) {
+        this.asyncLogging = asyncLogging;
+    }
+    
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+    
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.example.restsimple.config;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -11,17 +13,32 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Order(1)
 public class MetricsFilter implements Filter {
 
+    private static final Set<String> KNOWN_METHODS =
+            Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE");
+
     private final MeterRegistry meterRegistry;
+    private final double[] percentiles;
+    private final Duration[] sloBuckets;
+    // One entry per (method, route template, status class), so the map stays as small as the API
+    private final ConcurrentMap<MeterKey, RouteMeters> meters = new ConcurrentHashMap<>();
 
-    public MetricsFilter(MeterRegistry meterRegistry) {
+    public MetricsFilter(MeterRegistry meterRegistry, HttpMetricsProperties metricsProperties) {
         this.meterRegistry = meterRegistry;
+        this.percentiles = metricsProperties.getPercentiles().stream().mapToDouble(Double::doubleValue).toArray();
+        this.sloBuckets = metricsProperties.getSloBuckets().toArray(Duration[]::new);
     }
 
     @Override
@@ -31,30 +48,86 @@ public class MetricsFilter implements Filter {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
         
-        String method = httpRequest.getMethod();
-        String path = httpRequest.getRequestURI();
-        
         // Skip actuator endpoints from metrics
-        if (path.startsWith("/actuator")) {
+        if (httpRequest.getRequestURI().startsWith("/actuator")) {
             chain.doFilter(request, response);
             return;
         }
         
-        chain.doFilter(request, response);
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int status = httpResponse.getStatus();
+            MeterKey key = new MeterKey(normalizeMethod(httpRequest.getMethod()), route(httpRequest, status), statusClass(status));
+            RouteMeters routeMeters = meters.get(key);
+            if (routeMeters == null) {
+                routeMeters = meters.computeIfAbsent(key, this::registerMeters);
+            }
+            routeMeters.record(System.nanoTime() - start);
+        }
+    }
+
+    private RouteMeters registerMeters(MeterKey key) {
+        Tags tags = Tags.of("method", key.method(), "path", key.route(), "status", key.statusClass());
+        
+        Counter total = meterRegistry.counter("http_requests_total", tags);
         
-        int status = httpResponse.getStatus();
-        Tags tags = Tags.of("method", method, "path", path, "status", String.valueOf(status));
+        // Specific status range counter, if the status class has one
+        Counter statusClassCounter = switch (key.statusClass()) {
+            case "2xx" -> meterRegistry.counter("http_requests_2xx_total", tags);
+            case "4xx" -> meterRegistry.counter("http_requests_4xx_total", tags);
+            case "5xx" -> meterRegistry.counter("http_requests_5xx_total", tags);
+            default -> null;
+        };
         
-        // Increment total requests counter
-        meterRegistry.counter("http_requests_total", tags).increment();
+        Timer latency = Timer.builder("http_request_duration")
+                .description("HTTP request latency by route template")
+                .tags(tags)
+                .publishPercentiles(percentiles)
+                .serviceLevelObjectives(sloBuckets)
+                .register(meterRegistry);
         
-        // Increment specific status range counters
-        if (status >= 200 && status < 300) {
-            meterRegistry.counter("http_requests_2xx_total", tags).increment();
-        } else if (status >= 400 && status < 500) {
-            meterRegistry.counter("http_requests_4xx_total", tags).increment();
-        } else if (status >= 500) {
-            meterRegistry.counter("http_requests_5xx_total", tags).increment();
+        return new RouteMeters(total, statusClassCounter, latency);
+    }
+
+    /**
+     * Uses the matched handler pattern (e.g. /students/{id}) instead of the raw URI to keep tag cardinality bounded.
+     */
+    private static String route(HttpServletRequest request, int status) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+        return status == HttpServletResponse.SC_NOT_FOUND ? "NOT_FOUND" : "UNMATCHED";
+    }
+
+    private static String normalizeMethod(String method) {
+        return KNOWN_METHODS.contains(method) ? method : "OTHER";
+    }
+
+    private static String statusClass(int status) {
+        return switch (status / 100) {
+            case 1 -> "1xx";
+            case 2 -> "2xx";
+            case 3 -> "3xx";
+            case 4 -> "4xx";
+            case 5 -> "5xx";
+            default -> "unknown";
+        };
+    }
+
+    private record MeterKey(String method, String route, String statusClass) {
+    }
+
+    private record RouteMeters(Counter total, Counter statusClassCounter, Timer latency) {
+
+        void record(long durationNanos) {
+            total.increment();
+            if (statusClassCounter != null) {
+                statusClassCounter.increment();
+            }
+            latency.record(durationNanos, TimeUnit.NANOSECONDS);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.example.restsimple.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.security.password-hashing")
+public class PasswordHashingProperties {
+    
+    private String encodingId = "bcrypt";
+    private int bcryptStrength = 10;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 64;
+    private Duration maxWait = Duration.ofSeconds(2);
+    
+    // Getters and setters
+    public String getEncodingId() {
+        return encodingId;
+    }
+    
+    public void setEncodingId(String encodingId) {
+        this.encodingId = encodingId;
+    }
+    
+    public int getBcryptStrength() {
+        return bcryptStrength;
+    }
+    
+    public void setBcryptStrength(int bcryptStrength) {
+        this.bcryptStrength = bcryptStrength;
+    }
+    
+    public int getThreads() {
+        return threads;
+    }
+    
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+    
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+    
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+    
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+    
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.example.restsimple.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.sqlite.SQLiteConfig;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * SQLite allows many concurrent readers but only one writer. Every connection runs in WAL mode so
+ * readers never block behind the writer, writes are funneled through a single connection so they
+ * queue in the pool instead of failing with SQLITE_BUSY, and read-only transactions are routed to
+ * a separate multi-connection pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.sqlite", name = "read-write-split", havingValue = "true", matchIfMissing = true)
+public class SqliteDataSourceConfiguration {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SqliteDataSourceConfiguration.class);
+    private static final String READ = "read";
+    private static final String WRITE = "write";
+    
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteWriteDataSource(DataSourceProperties dataSourceProperties,
+                                                  SqliteDataSourceProperties sqliteProperties) {
+        return createPool(dataSourceProperties.determineUrl(), sqliteProperties, "sqlite-write", 1, false);
+    }
+    
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteReadDataSource(DataSourceProperties dataSourceProperties,
+                                                 SqliteDataSourceProperties sqliteProperties) {
+        return createPool(dataSourceProperties.determineUrl(), sqliteProperties, "sqlite-read",
+                sqliteProperties.getReadPoolSize(), true);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("sqliteWriteDataSource") DataSource writeDataSource,
+                                 @Qualifier("sqliteReadDataSource") DataSource readDataSource) {
+        return createRoutingDataSource(writeDataSource, readDataSource);
+    }
+    
+    static HikariDataSource createPool(String url, SqliteDataSourceProperties properties,
+                                       String poolName, int poolSize, boolean readOnly) {
+        logger.info("Creating SQLite pool {} with {} connection(s) for {}", poolName, poolSize, url);
+        
+        SQLiteConfig sqliteConfig = new SQLiteConfig();
+        sqliteConfig.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        sqliteConfig.setBusyTimeout(properties.getBusyTimeoutMs());
+        sqliteConfig.setSynchronous(SQLiteConfig.SynchronousMode.valueOf(properties.getSynchronous()));
+        sqliteConfig.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(properties.getMmapSize()));
+        // negative cache_size is interpreted as KiB instead of pages
+        sqliteConfig.setCacheSize(-properties.getCacheSizeKib());
+        
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName(poolName);
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setDriverClassName("org.sqlite.JDBC");
+        hikariConfig.setDataSourceProperties(sqliteConfig.toProperties());
+        hikariConfig.setMaximumPoolSize(poolSize);
+        hikariConfig.setMinimumIdle(poolSize);
+        if (readOnly) {
+            // guards against a write slipping into the read pool
+            hikariConfig.setConnectionInitSql("PRAGMA query_only = true");
+        }
+        return new HikariDataSource(hikariConfig);
+    }
+    
+    static DataSource createRoutingDataSource(DataSource writeDataSource, DataSource readDataSource) {
+        AbstractRoutingDataSource routingDataSource = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? READ : WRITE;
+            }
+        };
+        routingDataSource.setTargetDataSources(Map.of(READ, readDataSource, WRITE, writeDataSource));
+        routingDataSource.setDefaultTargetDataSource(writeDataSource);
+        routingDataSource.afterPropertiesSet();
+        
+        // the transaction manager asks for a connection before the read-only flag of the transaction
+        // is published, so the physical connection is only picked on first use
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.example.restsimple.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource.sqlite")
+public class SqliteDataSourceProperties {
+    
+    private boolean readWriteSplit = true;
+    private int readPoolSize = Runtime.getRuntime().availableProcessors();
+    private int busyTimeoutMs = 5000;
+    private String synchronous = "NORMAL";
+    private long mmapSize = 256L * 1024 * 1024;
+    private int cacheSizeKib = 20000;
+    
+    // Getters and setters
+    public boolean isReadWriteSplit() {
+        return readWriteSplit;
+    }
+    
+    public void setReadWriteSplit(boolean readWriteSplit) {
+        this.readWriteSplit = readWriteSplit;
+    }
+    
+    public int getReadPoolSize() {
+        return readPoolSize;
+    }
+    
+    public void setReadPoolSize(int readPoolSize) {
+        this.readPoolSize = readPoolSize;
+    }
+    
+    public int getBusyTimeoutMs() {
+        return busyTimeoutMs;
+    }
+    
+    public void setBusyTimeoutMs(int busyTimeoutMs) {
+        this.busyTimeoutMs = busyTimeoutMs;
+    }
+    
+    public String getSynchronous() {
+        return synchronous;
+    }
+    
+    public void setSynchronous(String synchronous) {
+        this.synchronous = synchronous;
+    }
+    
+    public long getMmapSize() {
+        return mmapSize;
+    }
+    
+    public void setMmapSize(long mmapSize) {
+        this.mmapSize = mmapSize;
+    }
+    
+    public int getCacheSizeKib() {
+        return cacheSizeKib;
+    }
+    
+    public void setCacheSizeKib(int cacheSizeKib) {
+        this.cacheSizeKib = cacheSizeKib;
+    }
+}
\ No newline at end of file
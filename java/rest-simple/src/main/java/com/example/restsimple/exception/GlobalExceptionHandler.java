@@ -4,8 +4,10 @@ import com.example.restsimple.domain.exception.AdminNotFoundException;
 import com.example.restsimple.domain.exception.AuthenticationException;
 import com.example.restsimple.domain.exception.InvalidStudentDataException;
 import com.example.restsimple.domain.exception.InvalidTokenException;
+import com.example.restsimple.domain.exception.ServiceOverloadedException;
 import com.example.restsimple.domain.exception.StudentNotFoundException;
 import com.example.restsimple.response.ErrorResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.ObjectError;
@@ -76,4 +78,12 @@ public class GlobalExceptionHandler {
         ErrorResponse errorResponse = new ErrorResponse("Admin not found", ex.getMessage());
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        ErrorResponse errorResponse = new ErrorResponse("Service overloaded", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
 }
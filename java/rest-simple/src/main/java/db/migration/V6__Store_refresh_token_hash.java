@@ -0,0 +1,62 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Replaces refresh_token.token (the full JWT, indexed twice) with token_hash, the 32-byte SHA-256
+ * digest of the token behind a single unique index. SQLite cannot change a column type in place and
+ * has no SHA-256 function, so the table is rebuilt here and existing tokens are hashed while copying,
+ * which keeps issued refresh tokens valid.
+ */
+public class V6__Store_refresh_token_hash extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP INDEX IF EXISTS idx_refresh_token_token");
+            stmt.execute("CREATE TABLE refresh_token_new ("
+                    + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                    + "token_hash BLOB NOT NULL UNIQUE CHECK (length(token_hash) = 32), "
+                    + "admin_id INTEGER NOT NULL, "
+                    + "expires_at TEXT NOT NULL, "
+                    + "created_at TEXT NOT NULL, "
+                    + "revoked BOOLEAN NOT NULL DEFAULT FALSE, "
+                    + "FOREIGN KEY (admin_id) REFERENCES admin(id) ON DELETE CASCADE)");
+        }
+
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        try (Statement select = connection.createStatement();
+             ResultSet rs = select.executeQuery(
+                     "SELECT id, token, admin_id, expires_at, created_at, revoked FROM refresh_token");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO refresh_token_new (id, token_hash, admin_id, expires_at, created_at, revoked) "
+                             + "VALUES (?, ?, ?, ?, ?, ?)")) {
+            while (rs.next()) {
+                insert.setLong(1, rs.getLong("id"));
+                insert.setBytes(2, sha256.digest(rs.getString("token").getBytes(StandardCharsets.UTF_8)));
+                insert.setLong(3, rs.getLong("admin_id"));
+                insert.setString(4, rs.getString("expires_at"));
+                insert.setString(5, rs.getString("created_at"));
+                insert.setBoolean(6, rs.getBoolean("revoked"));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE refresh_token");
+            stmt.execute("ALTER TABLE refresh_token_new RENAME TO refresh_token");
+            stmt.execute("CREATE INDEX idx_refresh_token_admin_id ON refresh_token(admin_id)");
+            stmt.execute("CREATE INDEX idx_refresh_token_expires_at ON refresh_token(expires_at)");
+        }
+    }
+}
\ No newline at end of file
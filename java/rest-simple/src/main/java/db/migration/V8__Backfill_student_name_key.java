@@ -0,0 +1,48 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Fills student.name_key, added empty by V4, for existing rows. SQLite's lower() only folds ASCII and
+ * its trim() only strips spaces, so the keys are computed here with Java's trim() and
+ * toLowerCase(Locale.ROOT) like the application does. The oldest row of each duplicate group gets
+ * the key and the others stay NULL, as the unique index allows only one.
+ */
+public class V8__Backfill_student_name_key extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        Set<String> assigned = new HashSet<>();
+        try (Statement select = connection.createStatement();
+             ResultSet rs = select.executeQuery("SELECT mnr, name, last_name FROM student ORDER BY mnr");
+             PreparedStatement update = connection.prepareStatement("UPDATE student SET name_key = ? WHERE mnr = ?")) {
+            while (rs.next()) {
+                String nameKey = nameKey(rs.getString("name"), rs.getString("last_name"));
+                if (assigned.add(nameKey)) {
+                    update.setString(1, nameKey);
+                    update.setLong(2, rs.getLong("mnr"));
+                    update.addBatch();
+                }
+            }
+            update.executeBatch();
+        }
+    }
+
+    /**
+     * A copy of StudentJpaEntity.nameKey as of this migration. Flyway does not checksum Java migrations,
+     * so it must not call application code that may change later.
+     */
+    private static String nameKey(String name, String lastName) {
+        return name.trim().toLowerCase(Locale.ROOT) + "|" + lastName.trim().toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+-- Normalized (trimmed, case-folded) "name|last_name" key used for duplicate detection.
+-- Existing rows are keyed by the Java migration V8, as SQLite's lower() and trim() do not match
+-- the normalization of the application.
+ALTER TABLE student ADD COLUMN name_key TEXT;
+
+CREATE UNIQUE INDEX idx_student_name_key ON student(name_key);
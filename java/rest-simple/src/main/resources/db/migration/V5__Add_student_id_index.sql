@@ -0,0 +1,3 @@
+-- The public student id (UUID) is used by every single-student lookup, update and delete,
+-- but mnr is the primary key, so without this index those statements scan the whole table.
+CREATE UNIQUE INDEX IF NOT EXISTS idx_student_id ON student(id);
@@ -0,0 +1,3 @@
+-- Partial index for the refresh token purge job: only holds revoked rows, which the job deletes,
+-- so it stays small while letting the job find revoked tokens without scanning the table.
+CREATE INDEX idx_refresh_token_revoked ON refresh_token(id) WHERE revoked = 1;
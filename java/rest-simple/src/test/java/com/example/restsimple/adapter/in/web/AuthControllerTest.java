@@ -7,6 +7,7 @@ import com.example.restsimple.config.SecurityConfig;
 import com.example.restsimple.config.MetricsFilter;
 import com.example.restsimple.domain.exception.AuthenticationException;
 import com.example.restsimple.domain.exception.InvalidTokenException;
+import com.example.restsimple.domain.exception.ServiceOverloadedException;
 import com.example.restsimple.domain.model.Admin;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -138,6 +139,28 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.message").value("Login failed"));
     }
 
+    @Test
+    void login_WhenPasswordHashingIsOverloaded_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        when(loginUseCase.login(any(LoginCommand.class)))
+                .thenThrow(new ServiceOverloadedException("Password hashing queue is full", 2));
+
+        String requestBody = """
+                {
+                    "username": "testuser",
+                    "password": "password123"
+                }
+                """;
+
+        // When & Then
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.message").value("Login failed"));
+    }
+
     @Test
     void refresh_WithValidToken_ShouldReturnNewTokens() throws Exception {
         // Given
@@ -19,13 +19,17 @@ import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import com.example.restsimple.config.MetricsFilter;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -74,6 +78,65 @@ class StudentControllerTest {
                 .andExpect(jsonPath("$.students[1].name").value("Jane"));
     }
 
+    @Test
+    void getAllStudents_WithLimit_ShouldReturnPageWithNextCursor() throws Exception {
+        // Given
+        List<Student> students = List.of(
+            new Student("1", "1", "John", "Doe", LocalDateTime.now()),
+            new Student("2", "2", "Jane", "Smith", LocalDateTime.now())
+        );
+        when(getStudentUseCase.getStudentsAfter(0L, 2))
+                .thenReturn(new GetStudentUseCase.StudentPage(students, 2L));
+        when(getStudentUseCase.getStudentsAfter(2L, 2))
+                .thenReturn(new GetStudentUseCase.StudentPage(List.of(), null));
+
+        // When & Then
+        String body = mockMvc.perform(get("/students").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        mockMvc.perform(get("/students").param("limit", "2").param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students.length()").value(0))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getAllStudents_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/students").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportStudents_ShouldStreamNdjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<Student> consumer = invocation.getArgument(0);
+            consumer.accept(new Student("1", "1", "John", "Doe", LocalDateTime.now()));
+            consumer.accept(new Student("2", "2", "Jane", "Smith", LocalDateTime.now()));
+            return null;
+        }).when(getStudentUseCase).exportStudents(any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/students/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("John", objectMapper.readTree(lines[0]).get("name").asText());
+        assertEquals("Jane", objectMapper.readTree(lines[1]).get("name").asText());
+    }
+
     @Test
     void createStudent_WithValidData_ShouldReturnCreatedStudent() throws Exception {
         // Given
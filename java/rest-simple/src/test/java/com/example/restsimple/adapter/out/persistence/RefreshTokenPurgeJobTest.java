@@ -0,0 +1,62 @@
+package com.example.restsimple.adapter.out.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenPurgeJobTest {
+
+    @Mock
+    private RefreshTokenJpaRepository refreshTokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void purge_ShouldDeleteInBatchesUntilBatchIsNotFull() {
+        // Given
+        RefreshTokenPurgeJob job = new RefreshTokenPurgeJob(refreshTokenRepository, meterRegistry, 100, 10, 0);
+        when(refreshTokenRepository.deleteExpiredBatch(anyLong(), eq(100))).thenReturn(100, 100, 30);
+        when(refreshTokenRepository.deleteRevokedBatch(100)).thenReturn(5);
+        when(refreshTokenRepository.count()).thenReturn(42L);
+
+        // When
+        int purged = job.purge();
+
+        // Then
+        assertEquals(235, purged);
+        verify(refreshTokenRepository, times(3)).deleteExpiredBatch(anyLong(), eq(100));
+        verify(refreshTokenRepository, times(1)).deleteRevokedBatch(100);
+        assertEquals(230.0, meterRegistry.get("refresh_tokens_purged").tag("reason", "expired").counter().count());
+        assertEquals(5.0, meterRegistry.get("refresh_tokens_purged").tag("reason", "revoked").counter().count());
+        assertEquals(42.0, meterRegistry.get("refresh_token_rows").gauge().value());
+    }
+
+    @Test
+    void purge_ShouldStopAfterMaxBatchesPerRun() {
+        // Given
+        RefreshTokenPurgeJob job = new RefreshTokenPurgeJob(refreshTokenRepository, meterRegistry, 100, 2, 0);
+        when(refreshTokenRepository.deleteExpiredBatch(anyLong(), anyInt())).thenReturn(100);
+        when(refreshTokenRepository.deleteRevokedBatch(anyInt())).thenReturn(0);
+
+        // When
+        int purged = job.purge();
+
+        // Then
+        assertEquals(200, purged);
+        verify(refreshTokenRepository, times(2)).deleteExpiredBatch(anyLong(), anyInt());
+    }
+}
\ No newline at end of file
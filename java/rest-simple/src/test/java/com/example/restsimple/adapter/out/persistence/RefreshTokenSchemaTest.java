@@ -0,0 +1,142 @@
+package com.example.restsimple.adapter.out.persistence;
+
+import com.example.restsimple.adapter.out.dto.RefreshTokenJpaEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the refresh_token layout from V6: tokens are stored as their SHA-256 digest behind
+ * a single unique index, tokens issued before the migration stay valid, and the purge job
+ * finds expired and revoked rows through an index.
+ */
+class RefreshTokenSchemaTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String url;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        url = "jdbc:sqlite:" + tempDir.resolve("students.db");
+        SqliteTestDatabase.migrate(url, "5");
+        connection = DriverManager.getConnection(url);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void migrate_ShouldHashExistingTokens() throws SQLException {
+        // Given
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("INSERT INTO admin (id, username, first_name, last_name, email, password_hash, created_at, updated_at) "
+                    + "VALUES (1, 'testuser', 'John', 'Doe', 'test@example.com', 'hash', '2025-01-01', '2025-01-01')");
+            stmt.execute("INSERT INTO refresh_token (id, token, admin_id, expires_at, created_at, revoked) "
+                    + "VALUES (7, 'legacy-token', 1, '2099-01-01', '2025-01-01', 0)");
+        }
+
+        // When
+        SqliteTestDatabase.migrate(url, null);
+
+        // Then
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT id, admin_id FROM refresh_token WHERE token_hash = ?")) {
+            stmt.setBytes(1, RefreshTokenJpaEntity.hash("legacy-token"));
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(7, rs.getLong("id"));
+                assertEquals(1, rs.getLong("admin_id"));
+            }
+        }
+    }
+
+    @Test
+    void migrate_ShouldLeaveSingleIndexOnTokenHash() throws SQLException {
+        // When
+        SqliteTestDatabase.migrate(url, null);
+
+        // Then
+        List<String> indexes = new ArrayList<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA index_list('refresh_token')")) {
+            while (rs.next()) {
+                indexes.add(rs.getString("name"));
+            }
+        }
+        assertFalse(indexes.contains("idx_refresh_token_token"), indexes.toString());
+        assertEquals(4, indexes.size(), indexes.toString());
+        assertTrue(indexes.contains("idx_refresh_token_revoked"), indexes.toString());
+        assertTrue(indexes.contains("idx_refresh_token_admin_id"), indexes.toString());
+        assertTrue(indexes.contains("idx_refresh_token_expires_at"), indexes.toString());
+    }
+
+    @Test
+    void findByTokenHash_ShouldUseUniqueIndex() throws SQLException {
+        // Given
+        SqliteTestDatabase.migrate(url, null);
+
+        // When
+        String plan = SqliteTestDatabase.queryPlan(connection,
+                "SELECT id, admin_id, expires_at, created_at, revoked FROM refresh_token WHERE token_hash = ?", new byte[32]);
+
+        // Then
+        assertTrue(plan.contains("USING INDEX sqlite_autoindex_refresh_token"), plan);
+    }
+
+    @Test
+    void deleteExpiredBatch_ShouldUseExpiresAtIndex() throws SQLException {
+        // Given
+        SqliteTestDatabase.migrate(url, null);
+
+        // When
+        String plan = SqliteTestDatabase.queryPlan(connection, "DELETE FROM refresh_token WHERE id IN "
+                + "(SELECT id FROM refresh_token WHERE expires_at < ? LIMIT ?)", System.currentTimeMillis(), 500);
+
+        // Then
+        assertTrue(plan.contains("idx_refresh_token_expires_at"), plan);
+    }
+
+    @Test
+    void deleteRevokedBatch_ShouldUseRevokedIndex() throws SQLException {
+        // Given
+        SqliteTestDatabase.migrate(url, null);
+
+        // When
+        String plan = SqliteTestDatabase.queryPlan(connection, "DELETE FROM refresh_token WHERE id IN "
+                + "(SELECT id FROM refresh_token WHERE revoked = 1 LIMIT ?)", 500);
+
+        // Then
+        assertTrue(plan.contains("idx_refresh_token_revoked"), plan);
+    }
+
+    @Test
+    void insert_WithTokenHashOfWrongLength_ShouldFail() throws SQLException {
+        // Given
+        SqliteTestDatabase.migrate(url, null);
+
+        // When & Then
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "INSERT INTO refresh_token (token_hash, admin_id, expires_at, created_at, revoked) VALUES (?, 1, '2099-01-01', '2025-01-01', 0)")) {
+            stmt.setBytes(1, new byte[16]);
+            assertThrows(SQLException.class, stmt::executeUpdate);
+        }
+    }
+}
\ No newline at end of file
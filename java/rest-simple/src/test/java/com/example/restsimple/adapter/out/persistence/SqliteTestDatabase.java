@@ -0,0 +1,52 @@
+package com.example.restsimple.adapter.out.persistence;
+
+import org.flywaydb.core.Flyway;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Shared setup for the schema tests: migrates a SQLite file with the application's Flyway
+ * migrations and reads back the plan SQLite picks for a statement.
+ */
+final class SqliteTestDatabase {
+
+    private SqliteTestDatabase() {
+    }
+
+    /**
+     * Migrates up to and including the target version, or to the latest version if target is null.
+     */
+    static void migrate(String url, String target) {
+        var configuration = Flyway.configure()
+                .dataSource(url, null, null)
+                .locations("classpath:db/migration");
+        if (target != null) {
+            configuration.target(target);
+        }
+        configuration.load().migrate();
+    }
+
+    /**
+     * Returns the details of EXPLAIN QUERY PLAN for the statement, one line per step.
+     */
+    static String queryPlan(Connection connection, String sql, Object... params) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString("detail")).append('\n');
+                }
+            }
+        }
+        assertFalse(plan.isEmpty(), "no query plan returned for " + sql);
+        return plan.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.example.restsimple.adapter.out.persistence;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Reconciling the cached student count must not overwrite a create or delete that committed while
+ * SELECT COUNT(*) was running and may be missing from its snapshot.
+ */
+@ExtendWith(MockitoExtension.class)
+class StudentCountReconcileTest {
+
+    @Mock
+    private StudentJpaRepository studentJpaRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private StudentPersistenceAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new StudentPersistenceAdapter(studentJpaRepository, entityManager, false);
+    }
+
+    @Test
+    void reconcileStudentCount_WithDeleteCommittedDuringCount_ShouldRetry() {
+        // Given
+        when(studentJpaRepository.count()).thenReturn(5L);
+        adapter.reconcileStudentCount();
+        when(studentJpaRepository.deleteByIdColumn("id-1")).thenReturn(1);
+        AtomicBoolean deleted = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (deleted.compareAndSet(false, true)) {
+                // the delete commits after the snapshot of this count was taken
+                adapter.deleteStudent("id-1");
+                return 5L;
+            }
+            return 4L;
+        }).when(studentJpaRepository).count();
+
+        // When
+        long count = adapter.reconcileStudentCount();
+
+        // Then
+        assertEquals(4, count);
+        assertEquals(4, adapter.countStudents());
+        verify(studentJpaRepository, times(3)).count();
+    }
+
+    @Test
+    void reconcileStudentCount_WithoutConcurrentChanges_ShouldStoreCount() {
+        // Given
+        when(studentJpaRepository.count()).thenReturn(7L);
+
+        // When
+        long count = adapter.reconcileStudentCount();
+
+        // Then
+        assertEquals(7, count);
+        assertEquals(7, adapter.countStudents());
+        verify(studentJpaRepository, times(1)).count();
+    }
+}
\ No newline at end of file
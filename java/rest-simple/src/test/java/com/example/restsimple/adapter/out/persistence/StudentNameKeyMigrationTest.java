@@ -0,0 +1,90 @@
+package com.example.restsimple.adapter.out.persistence;
+
+import com.example.restsimple.adapter.out.dto.StudentJpaEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the V8 backfill: keys of existing rows must match what the application computes,
+ * including names SQLite's lower() and trim() would fold or trim differently.
+ */
+class StudentNameKeyMigrationTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String url;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        url = "jdbc:sqlite:" + tempDir.resolve("students.db");
+        SqliteTestDatabase.migrate(url, "3");
+        connection = DriverManager.getConnection(url);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void migrate_ShouldComputeKeysLikeTheApplication() throws SQLException {
+        // Given
+        insertStudent(1, "ÉMILE", "Zola\t");
+        insertStudent(2, "Max", "Mustermann");
+
+        // When
+        SqliteTestDatabase.migrate(url, null);
+
+        // Then
+        assertEquals(StudentJpaEntity.nameKey("ÉMILE", "Zola\t"), nameKey(1));
+        assertEquals(StudentJpaEntity.nameKey("Max", "Mustermann"), nameKey(2));
+    }
+
+    @Test
+    void migrate_ShouldKeepKeyOnOldestDuplicateOnly() throws SQLException {
+        // Given
+        insertStudent(1, "Émile", "Zola");
+        insertStudent(2, "ÉMILE", " zola\t");
+
+        // When
+        SqliteTestDatabase.migrate(url, null);
+
+        // Then
+        assertEquals("émile|zola", nameKey(1));
+        assertNull(nameKey(2));
+    }
+
+    private void insertStudent(int mnr, String name, String lastName) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "INSERT INTO student (id, mnr, name, last_name, created_on) VALUES (?, ?, ?, ?, '0')")) {
+            stmt.setString(1, "id-" + mnr);
+            stmt.setInt(2, mnr);
+            stmt.setString(3, name);
+            stmt.setString(4, lastName);
+            stmt.executeUpdate();
+        }
+    }
+
+    private String nameKey(int mnr) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT name_key FROM student WHERE mnr = ?")) {
+            stmt.setInt(1, mnr);
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertTrue(rs.next());
+                return rs.getString(1);
+            }
+        }
+    }
+}
\ No newline at end of file
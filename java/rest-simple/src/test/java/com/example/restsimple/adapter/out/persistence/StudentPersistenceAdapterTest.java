@@ -0,0 +1,113 @@
+package com.example.restsimple.adapter.out.persistence;
+
+import com.example.restsimple.adapter.out.dto.StudentJpaEntity;
+import com.example.restsimple.domain.model.Student;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the adapter's atomic update and delete against a Flyway-migrated SQLite file, once through
+ * UPDATE/DELETE ... RETURNING as chosen by the dialect version check and once through the fallback
+ * that issues a separate SELECT.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(StudentPersistenceAdapter.class)
+class StudentPersistenceAdapterTest {
+
+    @DynamicPropertySource
+    static void sqliteDatabase(DynamicPropertyRegistry registry) throws IOException {
+        String path = Files.createTempDirectory("student-adapter").resolve("students.db").toString();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + path);
+    }
+
+    @Autowired
+    private StudentPersistenceAdapter adapter;
+
+    @Autowired
+    private StudentJpaRepository studentJpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void dialectVersionCheck_ShouldSelectReturningOnCurrentSqlite() {
+        // Then
+        assertTrue(adapter.usesReturning());
+    }
+
+    @Test
+    void updateStudentNames_WithReturning_ShouldReturnUpdatedStudent() {
+        // Given
+        Student saved = saveStudent("John", "Doe");
+
+        // When
+        Optional<Student> updated = adapter.updateStudentNames(saved.getId(), "Jane", "Smith");
+
+        // Then
+        assertTrue(updated.isPresent());
+        assertEquals("Jane", updated.get().getName());
+        assertEquals(saved.getMnr(), updated.get().getMnr());
+        assertTrue(adapter.existsByNormalizedName("jane", "SMITH"));
+    }
+
+    @Test
+    void deleteStudentAndReturn_WithReturning_ShouldDeleteAndDetachRow() {
+        // Given
+        Student saved = saveStudent("John", "Doe");
+
+        // When
+        Optional<Student> deleted = adapter.deleteStudentAndReturn(saved.getId());
+        entityManager.flush();
+
+        // Then
+        assertEquals(saved.getId(), deleted.orElseThrow().getId());
+        assertNull(entityManager.find(StudentJpaEntity.class, Integer.valueOf(saved.getMnr())));
+        assertTrue(adapter.loadStudent(saved.getId()).isEmpty());
+    }
+
+    @Test
+    void updateAndDelete_WithoutReturning_ShouldUseFallback() {
+        // Given
+        StudentPersistenceAdapter fallback = new StudentPersistenceAdapter(studentJpaRepository, entityManager, false);
+        Student saved = saveStudent("John", "Doe");
+
+        // When
+        Optional<Student> updated = fallback.updateStudentNames(saved.getId(), "Jane", "Smith");
+        entityManager.clear();
+        Optional<Student> deleted = fallback.deleteStudentAndReturn(saved.getId());
+
+        // Then
+        assertEquals("Smith", updated.orElseThrow().getLastName());
+        assertEquals("Jane", deleted.orElseThrow().getName());
+        assertTrue(fallback.loadStudent(saved.getId()).isEmpty());
+    }
+
+    @Test
+    void updateAndDelete_WhenStudentNotExists_ShouldReturnEmpty() {
+        // When & Then
+        assertTrue(adapter.updateStudentNames("missing", "Jane", "Smith").isEmpty());
+        assertTrue(adapter.deleteStudentAndReturn("missing").isEmpty());
+    }
+
+    private Student saveStudent(String name, String lastName) {
+        Student saved = adapter.saveStudent(new Student(UUID.randomUUID().toString(), null, name, lastName, LocalDateTime.now()));
+        entityManager.flush();
+        entityManager.clear();
+        return saved;
+    }
+}
\ No newline at end of file
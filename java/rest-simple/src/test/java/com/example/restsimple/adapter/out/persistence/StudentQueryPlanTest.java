@@ -0,0 +1,125 @@
+package com.example.restsimple.adapter.out.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the student id index: the SQL behind StudentJpaRepository's id based queries
+ * must be answered through idx_student_id instead of scanning the table.
+ */
+class StudentQueryPlanTest {
+
+    private static final String ID_INDEX = "USING INDEX idx_student_id";
+
+    @TempDir
+    Path tempDir;
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("students.db");
+        SqliteTestDatabase.migrate(url, null);
+        connection = DriverManager.getConnection(url);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void findByIdColumn_ShouldUseIdIndex() throws SQLException {
+        // When
+        String plan = queryPlan("SELECT s.id, s.mnr, s.name, s.last_name, s.created_on, s.name_key FROM student s WHERE s.id = ?", 1);
+
+        // Then
+        assertTrue(plan.contains(ID_INDEX), plan);
+    }
+
+    @Test
+    void deleteByIdColumn_ShouldUseIdIndex() throws SQLException {
+        // When
+        String plan = queryPlan("DELETE FROM student WHERE id = ?", 1);
+
+        // Then
+        assertTrue(plan.contains(ID_INDEX), plan);
+    }
+
+    @Test
+    void updateStudentNames_ShouldUseIdIndex() throws SQLException {
+        // When
+        String plan = queryPlan("UPDATE student SET name = ?, last_name = ?, name_key = ? WHERE id = ?", 4);
+
+        // Then
+        assertTrue(plan.contains(ID_INDEX), plan);
+    }
+
+    @Test
+    void updateStudentNamesReturning_ShouldUseIdIndex() throws SQLException {
+        // When
+        String plan = queryPlan("UPDATE student SET name = ?, last_name = ?, name_key = ? WHERE id = ? "
+                + "RETURNING id, mnr, name, last_name, created_on, name_key", 4);
+
+        // Then
+        assertTrue(plan.contains(ID_INDEX), plan);
+    }
+
+    @Test
+    void deleteByIdColumnReturning_ShouldReturnDeletedRow() throws SQLException {
+        // Given
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO student (id, name, last_name, created_on, name_key) VALUES ('some-id', 'John', 'Doe', 0, 'john|doe')")) {
+            statement.executeUpdate();
+        }
+
+        // When
+        try (PreparedStatement statement = connection.prepareStatement(
+                "DELETE FROM student WHERE id = ? RETURNING id, mnr, name, last_name, created_on, name_key")) {
+            statement.setString(1, "some-id");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                // Then
+                assertTrue(resultSet.next());
+                assertEquals("John", resultSet.getString("name"));
+                assertFalse(resultSet.next());
+            }
+        }
+        assertTrue(queryPlan("DELETE FROM student WHERE id = ? RETURNING id", 1).contains(ID_INDEX));
+    }
+
+    @Test
+    void idIndex_ShouldRejectDuplicateIds() throws SQLException {
+        // Given
+        String insert = "INSERT INTO student (id, name, last_name, created_on, name_key) VALUES ('same-id', ?, 'Doe', 0, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(insert)) {
+            statement.setString(1, "John");
+            statement.setString(2, "john|doe");
+            statement.executeUpdate();
+        }
+
+        // When & Then
+        try (PreparedStatement statement = connection.prepareStatement(insert)) {
+            statement.setString(1, "Jane");
+            statement.setString(2, "jane|doe");
+            assertThrows(SQLException.class, statement::executeUpdate);
+        }
+    }
+
+    private String queryPlan(String sql, int parameterCount) throws SQLException {
+        Object[] params = new Object[parameterCount];
+        Arrays.fill(params, "x");
+        return SqliteTestDatabase.queryPlan(connection, sql, params);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,198 @@
+package com.example.restsimple.application.service;
+
+import com.example.restsimple.application.port.in.LoginCommand;
+import com.example.restsimple.application.port.in.LoginResponse;
+import com.example.restsimple.application.port.in.RefreshTokenCommand;
+import com.example.restsimple.application.port.in.RefreshTokenResponse;
+import com.example.restsimple.application.port.out.LoadAdminPort;
+import com.example.restsimple.application.port.out.LoadRefreshTokenPort;
+import com.example.restsimple.application.port.out.SaveAdminPort;
+import com.example.restsimple.application.port.out.SaveRefreshTokenPort;
+import com.example.restsimple.domain.exception.AuthenticationException;
+import com.example.restsimple.domain.exception.InvalidTokenException;
+import com.example.restsimple.domain.model.Admin;
+import com.example.restsimple.domain.model.RefreshToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationServiceTest {
+
+    @Mock
+    private LoadAdminPort loadAdminPort;
+
+    @Mock
+    private SaveAdminPort saveAdminPort;
+
+    @Mock
+    private LoadRefreshTokenPort loadRefreshTokenPort;
+
+    @Mock
+    private SaveRefreshTokenPort saveRefreshTokenPort;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private final JwtService jwtService = new JwtService("mySecretKey1234567890123456789012345678901234567890", 15, 30);
+
+    private final RefreshTokenCache refreshTokenCache = new RefreshTokenCache(100);
+
+    private Admin admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = new Admin(1L, "testuser", "John", "Doe", "test@example.com", "$2a$10$legacy",
+                LocalDateTime.now(), LocalDateTime.now());
+        lenient().when(loadAdminPort.loadByUsername("testuser")).thenReturn(Optional.of(admin));
+    }
+
+    @Test
+    void login_WhenStoredHashIsOutdated_ShouldRehashPassword() {
+        // Given
+        AuthenticationService service = service(PasswordVerificationCache.disabled());
+        when(passwordEncoder.matches("password123", "$2a$10$legacy")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$legacy")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("{bcrypt}$2a$12$upgraded");
+        when(saveAdminPort.save(any(Admin.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(saveRefreshTokenPort.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        service.login(new LoginCommand("testuser", "password123"));
+
+        // Then
+        ArgumentCaptor<Admin> saved = ArgumentCaptor.forClass(Admin.class);
+        verify(saveAdminPort).save(saved.capture());
+        assertEquals(1L, saved.getValue().getId());
+        assertEquals("{bcrypt}$2a$12$upgraded", saved.getValue().getPasswordHash());
+    }
+
+    @Test
+    void login_WhenStoredHashIsCurrent_ShouldNotRehash() {
+        // Given
+        AuthenticationService service = service(PasswordVerificationCache.disabled());
+        when(passwordEncoder.matches("password123", "$2a$10$legacy")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$legacy")).thenReturn(false);
+        when(saveRefreshTokenPort.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        service.login(new LoginCommand("testuser", "password123"));
+
+        // Then
+        verify(passwordEncoder, never()).encode(anyString());
+        verifyNoInteractions(saveAdminPort);
+    }
+
+    @Test
+    void login_WithVerificationCache_ShouldSkipHashOnRepeatedLogin() {
+        // Given
+        AuthenticationService service = service(new PasswordVerificationCache(true, 300, 100));
+        when(passwordEncoder.matches("password123", "$2a$10$legacy")).thenReturn(true);
+        when(saveRefreshTokenPort.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        service.login(new LoginCommand("testuser", "password123"));
+        service.login(new LoginCommand("testuser", "password123"));
+
+        // Then
+        verify(passwordEncoder, times(1)).matches("password123", "$2a$10$legacy");
+        verify(saveRefreshTokenPort, times(2)).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void login_WithVerificationCache_ShouldNotCacheFailedLogins() {
+        // Given
+        AuthenticationService service = service(new PasswordVerificationCache(true, 300, 100));
+        when(passwordEncoder.matches("wrongpassword", "$2a$10$legacy")).thenReturn(false);
+
+        // When & Then
+        assertThrows(AuthenticationException.class, () -> service.login(new LoginCommand("testuser", "wrongpassword")));
+        assertThrows(AuthenticationException.class, () -> service.login(new LoginCommand("testuser", "wrongpassword")));
+        verify(passwordEncoder, times(2)).matches("wrongpassword", "$2a$10$legacy");
+    }
+
+    @Test
+    void login_WhenPasswordHashChanged_ShouldIgnoreCachedVerification() {
+        // Given
+        PasswordVerificationCache cache = new PasswordVerificationCache(true, 300, 100);
+        cache.remember("testuser", "password123", admin.withUpdatedPassword("$2a$10$previous"));
+        AuthenticationService service = service(cache);
+        when(passwordEncoder.matches("password123", "$2a$10$legacy")).thenReturn(false);
+
+        // When & Then
+        assertThrows(AuthenticationException.class, () -> service.login(new LoginCommand("testuser", "password123")));
+        verify(passwordEncoder).matches("password123", "$2a$10$legacy");
+    }
+
+    @Test
+    void refresh_AfterLogin_ShouldNotReadTokenOrAdminFromDatabase() {
+        // Given
+        AuthenticationService service = service(PasswordVerificationCache.disabled());
+        when(passwordEncoder.matches("password123", "$2a$10$legacy")).thenReturn(true);
+        when(saveRefreshTokenPort.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        LoginResponse login = service.login(new LoginCommand("testuser", "password123"));
+
+        // When
+        RefreshTokenResponse response = service.refresh(new RefreshTokenCommand(login.refreshToken()));
+
+        // Then
+        assertEquals("testuser", jwtService.parseAccessToken(response.accessToken()).username());
+        verifyNoInteractions(loadRefreshTokenPort);
+        verify(loadAdminPort, never()).loadById(any());
+    }
+
+    @Test
+    void refresh_WhenNotCached_ShouldLoadOnceAndCache() {
+        // Given
+        AuthenticationService service = service(PasswordVerificationCache.disabled());
+        String token = jwtService.generateRefreshToken(1L);
+        when(loadRefreshTokenPort.loadByToken(token)).thenReturn(Optional.of(
+                RefreshToken.createNew(token, 1L, LocalDateTime.now().plusDays(30))));
+        when(loadAdminPort.loadById(1L)).thenReturn(Optional.of(admin));
+
+        // When
+        service.refresh(new RefreshTokenCommand(token));
+        service.refresh(new RefreshTokenCommand(token));
+
+        // Then
+        verify(loadRefreshTokenPort, times(1)).loadByToken(token);
+        verify(loadAdminPort, times(1)).loadById(1L);
+    }
+
+    @Test
+    void refresh_AfterRevokeAll_ShouldRejectCachedToken() {
+        // Given
+        AuthenticationService service = service(PasswordVerificationCache.disabled());
+        String token = jwtService.generateRefreshToken(1L);
+        when(loadRefreshTokenPort.loadByToken(token))
+                .thenReturn(Optional.of(RefreshToken.createNew(token, 1L, LocalDateTime.now().plusDays(30))))
+                .thenReturn(Optional.of(RefreshToken.createNew(token, 1L, LocalDateTime.now().plusDays(30)).revoke()));
+        when(loadAdminPort.loadById(1L)).thenReturn(Optional.of(admin));
+        service.refresh(new RefreshTokenCommand(token));
+
+        // When
+        service.revokeAllRefreshTokens(1L);
+
+        // Then
+        assertThrows(InvalidTokenException.class, () -> service.refresh(new RefreshTokenCommand(token)));
+        verify(loadRefreshTokenPort).revokeAllByAdminId(1L);
+        verify(loadRefreshTokenPort, times(2)).loadByToken(token);
+    }
+
+    private AuthenticationService service(PasswordVerificationCache cache) {
+        return new AuthenticationService(loadAdminPort, saveAdminPort, loadRefreshTokenPort, saveRefreshTokenPort,
+                passwordEncoder, jwtService, cache, refreshTokenCache);
+    }
+}
\ No newline at end of file
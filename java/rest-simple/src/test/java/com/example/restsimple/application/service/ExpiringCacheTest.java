@@ -0,0 +1,92 @@
+package com.example.restsimple.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringCacheTest {
+
+    private record Entry(String value, Instant expiresAt) {}
+
+    private static Entry live(String value) {
+        return new Entry(value, Instant.now().plusSeconds(60));
+    }
+
+    @Test
+    void put_WhenFull_ShouldEvictOldestEntry() {
+        // Given
+        ExpiringCache<String, Entry> cache = new ExpiringCache<>(2, Entry::expiresAt);
+        cache.put("a", live("a"));
+        cache.put("b", live("b"));
+
+        // When
+        cache.put("c", live("c"));
+
+        // Then
+        assertEquals(2, cache.size());
+        assertNull(cache.get("a"));
+        assertEquals("b", cache.get("b").value());
+        assertEquals("c", cache.get("c").value());
+    }
+
+    @Test
+    void put_WhenKeyIsReplaced_ShouldNotEvictTheNewValue() {
+        // Given
+        ExpiringCache<String, Entry> cache = new ExpiringCache<>(2, Entry::expiresAt);
+        cache.put("a", live("a1"));
+        cache.put("b", live("b"));
+        cache.put("a", live("a2"));
+
+        // When
+        cache.put("c", live("c"));
+
+        // Then
+        assertEquals("a2", cache.get("a").value());
+        assertNull(cache.get("b"));
+        assertEquals("c", cache.get("c").value());
+    }
+
+    @Test
+    void get_WhenExpired_ShouldReturnNullAndRemove() {
+        // Given
+        ExpiringCache<String, Entry> cache = new ExpiringCache<>(10, Entry::expiresAt);
+        cache.put("a", new Entry("a", Instant.now().minusSeconds(1)));
+
+        // When & Then
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_ManyMoreThanMaxSize_ShouldStayBounded() {
+        // Given
+        ExpiringCache<Integer, Entry> cache = new ExpiringCache<>(100, Entry::expiresAt);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(i, live("v" + i));
+        }
+
+        // Then
+        assertEquals(100, cache.size());
+        assertNotNull(cache.get(9_999));
+        assertNull(cache.get(0));
+    }
+
+    @Test
+    void removeIf_ShouldDropMatchingEntries() {
+        // Given
+        ExpiringCache<String, Entry> cache = new ExpiringCache<>(10, Entry::expiresAt);
+        cache.put("a", live("x"));
+        cache.put("b", live("y"));
+
+        // When
+        cache.removeIf(entry -> entry.value().equals("x"));
+
+        // Then
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+    }
+}
\ No newline at end of file
@@ -193,6 +193,73 @@ class JwtServiceTest {
         assertFalse(isValid);
     }
 
+    @Test
+    void parseAccessToken_WithValidAccessToken_ShouldReturnPrincipal() {
+        // Given
+        String token = jwtService.generateAccessToken(1L, "testuser");
+
+        // When
+        JwtService.AccessTokenPrincipal principal = jwtService.parseAccessToken(token);
+
+        // Then
+        assertEquals(1L, principal.adminId());
+        assertEquals("testuser", principal.username());
+        assertTrue(principal.expiresAt().isAfter(java.time.Instant.now()));
+    }
+
+    @Test
+    void parseAccessToken_CalledTwice_ShouldReturnCachedPrincipal() {
+        // Given
+        String token = jwtService.generateAccessToken(1L, "testuser");
+
+        // When
+        JwtService.AccessTokenPrincipal first = jwtService.parseAccessToken(token);
+        JwtService.AccessTokenPrincipal second = jwtService.parseAccessToken(token);
+
+        // Then
+        assertSame(first, second);
+    }
+
+    @Test
+    void parseAccessToken_WithRefreshToken_ShouldThrowException() {
+        // Given
+        String token = jwtService.generateRefreshToken(1L);
+
+        // When & Then
+        assertThrows(InvalidTokenException.class, () -> jwtService.parseAccessToken(token));
+    }
+
+    @Test
+    void parseAccessToken_WithTamperedToken_ShouldThrowException() {
+        // Given
+        String token = jwtService.generateAccessToken(1L, "testuser");
+        jwtService.parseAccessToken(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // When & Then
+        assertThrows(InvalidTokenException.class, () -> jwtService.parseAccessToken(tampered));
+    }
+
+    @Test
+    void parseAccessToken_WithExpiredToken_ShouldThrowException() {
+        // Given
+        JwtService expiringJwtService = new JwtService(
+            "test-secret-key-that-is-long-enough-for-hmac-sha384",
+            0, // expires immediately
+            30
+        );
+        String token = expiringJwtService.generateAccessToken(1L, "testuser");
+
+        // When & Then
+        assertThrows(InvalidTokenException.class, () -> expiringJwtService.parseAccessToken(token));
+    }
+
+    @Test
+    void parseAccessToken_WithNullToken_ShouldThrowException() {
+        // When & Then
+        assertThrows(InvalidTokenException.class, () -> jwtService.parseAccessToken(null));
+    }
+
     @Test
     void getAccessTokenExpirationMinutes_ShouldReturnCorrectValue() {
         // When
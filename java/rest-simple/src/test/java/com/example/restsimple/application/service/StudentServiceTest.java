@@ -1,6 +1,7 @@
 package com.example.restsimple.application.service;
 
 import com.example.restsimple.application.port.in.CreateStudentUseCase;
+import com.example.restsimple.application.port.in.GetStudentUseCase;
 import com.example.restsimple.application.port.in.UpdateStudentUseCase;
 import com.example.restsimple.application.port.out.DeleteStudentPort;
 import com.example.restsimple.application.port.out.LoadStudentPort;
@@ -14,8 +15,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -60,6 +64,32 @@ class StudentServiceTest {
         verify(saveStudentPort).saveStudent(any(Student.class));
     }
 
+    @Test
+    void createStudent_WhenDuplicateNameExists_ShouldThrowException() {
+        // Given
+        CreateStudentUseCase.CreateStudentCommand command =
+            new CreateStudentUseCase.CreateStudentCommand("John", "Doe");
+        when(loadStudentPort.existsByNormalizedName("John", "Doe")).thenReturn(true);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> studentService.createStudent(command));
+        verify(loadStudentPort, never()).loadAllStudents();
+        verify(saveStudentPort, never()).saveStudent(any(Student.class));
+    }
+
+    @Test
+    void createStudent_WhenCapacityReached_ShouldThrowException() {
+        // Given
+        CreateStudentUseCase.CreateStudentCommand command =
+            new CreateStudentUseCase.CreateStudentCommand("John", "Doe");
+        when(loadStudentPort.countStudents()).thenReturn(10000L);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> studentService.createStudent(command));
+        verify(loadStudentPort, never()).loadAllStudents();
+        verify(saveStudentPort, never()).saveStudent(any(Student.class));
+    }
+
     @Test
     void getAllStudents_ShouldReturnAllStudents() {
         // Given
@@ -77,6 +107,59 @@ class StudentServiceTest {
         verify(loadStudentPort).loadAllStudents();
     }
 
+    @Test
+    void getStudentsAfter_WhenMoreStudentsExist_ShouldReturnNextCursor() {
+        // Given
+        List<Student> students = List.of(
+            new Student("1", "5", "John", "Doe", LocalDateTime.now()),
+            new Student("2", "6", "Jane", "Smith", LocalDateTime.now()),
+            new Student("3", "7", "Max", "Mustermann", LocalDateTime.now())
+        );
+        when(loadStudentPort.loadStudentsAfter(4L, 3)).thenReturn(students);
+
+        // When
+        GetStudentUseCase.StudentPage page = studentService.getStudentsAfter(4L, 2);
+
+        // Then
+        assertEquals(2, page.students().size());
+        assertEquals(6L, page.nextAfterMnr());
+        verify(loadStudentPort, never()).loadAllStudents();
+    }
+
+    @Test
+    void getStudentsAfter_WhenLimitExceedsMaximum_ShouldCapPageSize() {
+        // Given
+        when(loadStudentPort.loadStudentsAfter(0L, 101)).thenReturn(List.of());
+
+        // When
+        GetStudentUseCase.StudentPage page = studentService.getStudentsAfter(0L, 10_000);
+
+        // Then
+        assertTrue(page.students().isEmpty());
+        assertNull(page.nextAfterMnr());
+        verify(loadStudentPort).loadStudentsAfter(0L, 101);
+    }
+
+    @Test
+    void exportStudents_ShouldPassEveryStudentToConsumerAndCloseStream() {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean(false);
+        Stream<Student> students = Stream.of(
+            new Student("1", "1", "John", "Doe", LocalDateTime.now()),
+            new Student("2", "2", "Jane", "Smith", LocalDateTime.now())
+        ).onClose(() -> closed.set(true));
+        when(loadStudentPort.streamAllStudents()).thenReturn(students);
+        List<Student> exported = new ArrayList<>();
+
+        // When
+        studentService.exportStudents(exported::add);
+
+        // Then
+        assertEquals(2, exported.size());
+        assertTrue(closed.get());
+        verify(loadStudentPort, never()).loadAllStudents();
+    }
+
     @Test
     void getStudentById_WhenStudentExists_ShouldReturnStudent() {
         // Given
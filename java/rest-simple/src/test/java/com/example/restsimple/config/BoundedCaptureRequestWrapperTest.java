@@ -0,0 +1,48 @@
+package com.example.restsimple.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCaptureRequestWrapperTest {
+
+    @Test
+    void readAllBytes_WithChunkedBodyOverLimit_ShouldCaptureLimitAndMarkTruncated() throws Exception {
+        // Given
+        MockHttpServletRequest request = chunkedRequest("Hello World!");
+        BoundedCaptureRequestWrapper wrapper = new BoundedCaptureRequestWrapper(request, 5);
+
+        // When
+        byte[] body = wrapper.getInputStream().readAllBytes();
+
+        // Then
+        assertEquals("Hello World!", new String(body, StandardCharsets.UTF_8));
+        assertEquals("Hello", new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8));
+        assertTrue(wrapper.isTruncated());
+    }
+
+    @Test
+    void readAllBytes_WithBodyWithinLimit_ShouldNotMarkTruncated() throws Exception {
+        // Given
+        MockHttpServletRequest request = chunkedRequest("{\"name\":\"Max\"}");
+        BoundedCaptureRequestWrapper wrapper = new BoundedCaptureRequestWrapper(request, 100);
+
+        // When
+        wrapper.getInputStream().readAllBytes();
+
+        // Then
+        assertEquals("{\"name\":\"Max\"}", new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8));
+        assertFalse(wrapper.isTruncated());
+    }
+
+    private MockHttpServletRequest chunkedRequest(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/students");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        // the length a chunked request reports; the wrapper must not rely on it
+        request.addHeader("Transfer-Encoding", "chunked");
+        return request;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.example.restsimple.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCaptureResponseWrapperTest {
+
+    @Test
+    void getOutputStream_ShouldPassBodyThroughAndCaptureOnlyLimit() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        BoundedCaptureResponseWrapper wrapper = new BoundedCaptureResponseWrapper(response, 5);
+
+        // When
+        wrapper.getOutputStream().write("Hello World".getBytes(StandardCharsets.UTF_8));
+        wrapper.getOutputStream().write('!');
+
+        // Then
+        assertEquals("Hello World!", response.getContentAsString());
+        assertEquals("Hello", new String(wrapper.getCapturedBody(), StandardCharsets.UTF_8));
+        assertTrue(wrapper.isTruncated());
+    }
+
+    @Test
+    void getWriter_ShouldCaptureBodyWithinLimit() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCharacterEncoding("UTF-8");
+        BoundedCaptureResponseWrapper wrapper = new BoundedCaptureResponseWrapper(response, 100);
+
+        // When
+        PrintWriter writer = wrapper.getWriter();
+        writer.write("{\"status\":\"ok\"}");
+
+        // Then
+        assertEquals("{\"status\":\"ok\"}", new String(wrapper.getCapturedBody(), StandardCharsets.UTF_8));
+        assertFalse(wrapper.isTruncated());
+        assertEquals("{\"status\":\"ok\"}", response.getContentAsString());
+    }
+
+    @Test
+    void getWriter_AfterGetOutputStream_ShouldThrowException() throws Exception {
+        // Given
+        BoundedCaptureResponseWrapper wrapper = new BoundedCaptureResponseWrapper(new MockHttpServletResponse(), 10);
+        wrapper.getOutputStream();
+
+        // When & Then
+        assertThrows(IllegalStateException.class, wrapper::getWriter);
+    }
+}
\ No newline at end of file
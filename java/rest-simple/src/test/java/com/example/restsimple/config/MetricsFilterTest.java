@@ -0,0 +1,59 @@
+package com.example.restsimple.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MetricsFilter metricsFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metricsFilter = new MetricsFilter(meterRegistry, new HttpMetricsProperties());
+    }
+
+    @Test
+    void doFilter_ShouldTagWithRouteTemplateInsteadOfRawUri() throws Exception {
+        // Given
+        FilterChain chain = (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/students/{id}");
+            ((MockHttpServletResponse) response).setStatus(200);
+        };
+
+        // When
+        metricsFilter.doFilter(new MockHttpServletRequest("GET", "/students/1"), new MockHttpServletResponse(), chain);
+        metricsFilter.doFilter(new MockHttpServletRequest("GET", "/students/2"), new MockHttpServletResponse(), chain);
+
+        // Then
+        Counter counter = meterRegistry.get("http_requests_total")
+                .tags("method", "GET", "path", "/students/{id}", "status", "2xx").counter();
+        assertEquals(2.0, counter.count());
+        assertEquals(1, meterRegistry.get("http_requests_total").counters().size());
+        Timer timer = meterRegistry.get("http_request_duration").tags("path", "/students/{id}").timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void doFilter_WhenNoHandlerMatched_ShouldUseNotFoundRoute() throws Exception {
+        // Given
+        FilterChain chain = (request, response) -> ((MockHttpServletResponse) response).setStatus(404);
+
+        // When
+        metricsFilter.doFilter(new MockHttpServletRequest("GET", "/does-not-exist"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("http_requests_4xx_total")
+                .tags("path", "NOT_FOUND", "status", "4xx").counter().count());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.example.restsimple.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures point-read throughput through the read pool with 1..N reader threads while a writer
+ * keeps inserting through the single write connection. Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+class SqliteReadWriteLoadTest {
+
+    private static final int SEED_ROWS = 10_000;
+    private static final long ROUND_MILLIS = 3_000;
+
+    @TempDir
+    Path tempDir;
+
+    private HikariDataSource writeDataSource;
+    private HikariDataSource readDataSource;
+    private TransactionTemplate readTransaction;
+    private TransactionTemplate writeTransaction;
+    private JdbcTemplate jdbcTemplate;
+    private List<String> ids;
+
+    @BeforeEach
+    void setUp() {
+        String url = "jdbc:sqlite:" + tempDir.resolve("students.db");
+        SqliteDataSourceProperties properties = new SqliteDataSourceProperties();
+        int cores = Runtime.getRuntime().availableProcessors();
+        writeDataSource = SqliteDataSourceConfiguration.createPool(url, properties, "load-write", 1, false);
+        readDataSource = SqliteDataSourceConfiguration.createPool(url, properties, "load-read", cores, true);
+        DataSource dataSource = SqliteDataSourceConfiguration.createRoutingDataSource(writeDataSource, readDataSource);
+
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        ids = new ArrayList<>(SEED_ROWS);
+        writeTransaction.executeWithoutResult(status -> {
+            for (int i = 0; i < SEED_ROWS; i++) {
+                ids.add(insertStudent("Seed" + i));
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        readDataSource.close();
+        writeDataSource.close();
+    }
+
+    @Test
+    void readThroughput_ShouldScaleWithReadersWhileWritesContinue() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%-8s %14s %14s%n", "readers", "reads/s", "writes/s");
+
+        double singleReaderThroughput = 0;
+        double bestThroughput = 0;
+        for (int readers = 1; readers <= cores; readers *= 2) {
+            double[] result = runRound(readers);
+            System.out.printf("%-8d %14.0f %14.0f%n", readers, result[0], result[1]);
+
+            assertTrue(result[1] > 0, "writes must keep going while " + readers + " readers are busy");
+            if (readers == 1) {
+                singleReaderThroughput = result[0];
+            }
+            bestThroughput = Math.max(bestThroughput, result[0]);
+        }
+
+        if (cores > 1) {
+            assertTrue(bestThroughput > singleReaderThroughput,
+                    "read throughput did not increase with more readers");
+        }
+    }
+
+    private double[] runRound(int readers) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(readers + 1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> {
+                while (running.get()) {
+                    writeTransaction.executeWithoutResult(status -> insertStudent("Writer"));
+                    writes.incrementAndGet();
+                }
+            }));
+            for (int i = 0; i < readers; i++) {
+                futures.add(executor.submit(() -> {
+                    while (running.get()) {
+                        String id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        String name = readTransaction.execute(status -> jdbcTemplate.queryForObject(
+                                "SELECT name FROM student WHERE id = ?", String.class, id));
+                        assertNotNull(name);
+                        reads.incrementAndGet();
+                    }
+                }));
+            }
+
+            long start = System.nanoTime();
+            Thread.sleep(ROUND_MILLIS);
+            running.set(false);
+            for (Future<?> future : futures) {
+                // surfaces SQLITE_BUSY or any other failure from the worker threads
+                future.get(30, TimeUnit.SECONDS);
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            return new double[] {reads.get() / seconds, writes.get() / seconds};
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String insertStudent(String name) {
+        String id = UUID.randomUUID().toString();
+        jdbcTemplate.update("INSERT INTO student (id, name, last_name, created_on, name_key) VALUES (?, ?, ?, ?, ?)",
+                id, name, "Load", System.currentTimeMillis(), id);
+        return id;
+    }
+}
\ No newline at end of file